@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.tutorials.tools;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Writes the case results of a batch as soon as they are available, one per line: either CSV rows
+ * after a header, or JSON objects (JSON Lines). The values of a result are the counts of the given
+ * columns; a column missing from a result is left empty in CSV and omitted in JSON.
+ *
+ * @author agent <agent at local>
+ */
+abstract class AbstractCaseResultWriter {
+
+    enum Format {
+        CSV,
+        JSON
+    }
+
+    protected final PrintStream out;
+
+    protected final List<String> columns;
+
+    protected AbstractCaseResultWriter(PrintStream out, List<String> columns) {
+        this.out = Objects.requireNonNull(out);
+        this.columns = Objects.requireNonNull(columns);
+    }
+
+    static AbstractCaseResultWriter create(Format format, PrintStream out, List<String> columns) {
+        return switch (format) {
+            case CSV -> new Csv(out, columns);
+            case JSON -> new Json(out, columns);
+        };
+    }
+
+    abstract void write(CaseBatch.CaseResult<? extends Map<String, ? extends Number>> result);
+
+    private static String errorMessage(Exception error) {
+        return error.getMessage() != null ? error.getMessage() : error.toString();
+    }
+
+    private static final class Csv extends AbstractCaseResultWriter {
+
+        private Csv(PrintStream out, List<String> columns) {
+            super(out, columns);
+            StringBuilder header = new StringBuilder("Case,Status,DurationMs");
+            columns.forEach(column -> header.append(',').append(column));
+            out.println(header.append(",Error"));
+        }
+
+        @Override
+        void write(CaseBatch.CaseResult<? extends Map<String, ? extends Number>> result) {
+            StringBuilder row = new StringBuilder(escape(result.caseFile().toString()))
+                .append(',').append(result.isSuccess() ? "OK" : "FAILED")
+                .append(',').append(result.durationMillis());
+            for (String column : columns) {
+                row.append(',');
+                Number value = result.isSuccess() ? result.value().get(column) : null;
+                if (value != null) {
+                    row.append(value);
+                }
+            }
+            row.append(',');
+            if (!result.isSuccess()) {
+                row.append(escape(errorMessage(result.error())));
+            }
+            out.println(row);
+            out.flush();
+        }
+
+        private static String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    private static final class Json extends AbstractCaseResultWriter {
+
+        private final JsonFactory factory = new JsonFactory();
+
+        private Json(PrintStream out, List<String> columns) {
+            super(out, columns);
+        }
+
+        @Override
+        void write(CaseBatch.CaseResult<? extends Map<String, ? extends Number>> result) {
+            StringWriter writer = new StringWriter();
+            try (JsonGenerator generator = factory.createGenerator(writer)) {
+                generator.writeStartObject();
+                generator.writeStringField("case", result.caseFile().toString());
+                generator.writeStringField("status", result.isSuccess() ? "OK" : "FAILED");
+                generator.writeNumberField("durationMs", result.durationMillis());
+                if (result.isSuccess()) {
+                    for (String column : columns) {
+                        Number value = result.value().get(column);
+                        if (value != null) {
+                            writeNumber(generator, column, value);
+                        }
+                    }
+                } else {
+                    generator.writeStringField("error", errorMessage(result.error()));
+                }
+                generator.writeEndObject();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            out.println(writer);
+            out.flush();
+        }
+
+        private static void writeNumber(JsonGenerator generator, String name, Number value) throws IOException {
+            if (value instanceof Double || value instanceof Float) {
+                generator.writeNumberField(name, value.doubleValue());
+            } else {
+                generator.writeNumberField(name, value.longValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.tutorials.tools;
+
+import com.powsybl.commons.PowsyblException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Runs a task on each case file of a directory. Each case is processed on its own virtual thread, and a
+ * semaphore bounds the number of cases processed at the same time, so that only a few networks are in
+ * memory at once. Results are handed to the consumer on the calling thread, in completion order, and a
+ * failed case does not stop the others.
+ *
+ * @author agent <agent at local>
+ */
+final class CaseBatch {
+
+    @FunctionalInterface
+    interface CaseTask<T> {
+        T process(Path caseFile) throws Exception;
+    }
+
+    /**
+     * The outcome of a case: {@code value} is null if the case failed, {@code error} otherwise.
+     */
+    record CaseResult<T>(Path caseFile, T value, Exception error, long durationMillis) {
+
+        boolean isSuccess() {
+            return error == null;
+        }
+    }
+
+    /**
+     * The regular files of the directory whose name matches the glob pattern, sorted by name.
+     */
+    static List<Path> findCases(Path directory, String glob) {
+        if (!Files.isDirectory(directory)) {
+            throw new PowsyblException("Directory '" + directory + "' not found");
+        }
+        PathMatcher matcher = directory.getFileSystem().getPathMatcher("glob:" + glob);
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(Files::isRegularFile)
+                .filter(file -> matcher.matches(file.getFileName()))
+                .sorted()
+                .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return the number of failed cases
+     */
+    static <T> int run(List<Path> cases, int parallelism, CaseTask<T> task, Consumer<CaseResult<T>> consumer) {
+        if (parallelism < 1) {
+            throw new PowsyblException("Parallelism must be at least 1: " + parallelism);
+        }
+        Semaphore permits = new Semaphore(parallelism);
+        int failures = 0;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletionService<CaseResult<T>> completionService = new ExecutorCompletionService<>(executor);
+            for (Path caseFile : cases) {
+                completionService.submit(() -> process(caseFile, task, permits));
+            }
+            for (int i = 0; i < cases.size(); i++) {
+                CaseResult<T> result = completionService.take().get();
+                if (!result.isSuccess()) {
+                    failures++;
+                }
+                consumer.accept(result);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PowsyblException("Interrupted while processing the cases", e);
+        } catch (ExecutionException e) {
+            // process never throws
+            throw new IllegalStateException(e);
+        }
+        return failures;
+    }
+
+    private static <T> CaseResult<T> process(Path caseFile, CaseTask<T> task, Semaphore permits) throws InterruptedException {
+        permits.acquire();
+        long start = System.currentTimeMillis();
+        try {
+            T value = task.process(caseFile);
+            return new CaseResult<>(caseFile, value, null, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            return new CaseResult<>(caseFile, null, e, System.currentTimeMillis() - start);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private CaseBatch() {
+    }
+}
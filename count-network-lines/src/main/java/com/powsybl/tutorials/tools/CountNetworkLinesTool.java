@@ -6,15 +6,23 @@
  */
 package com.powsybl.tutorials.tools;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
 
 import com.powsybl.iidm.network.Network;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.Option;
+import org.apache.commons.cli.OptionGroup;
 import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
 
 import com.google.auto.service.AutoService;
-import com.powsybl.commons.PowsyblException;
 import com.powsybl.tools.Command;
 import com.powsybl.tools.Tool;
 import com.powsybl.tools.ToolRunningContext;
@@ -27,6 +35,18 @@ public class CountNetworkLinesTool implements Tool {
 
     private static final String CASE_FILE = "case-file";
 
+    private static final String CASE_DIR = "case-dir";
+
+    private static final String CASE_PATTERN = "case-pattern";
+
+    private static final String OUTPUT_FORMAT = "output-format";
+
+    private static final String PARALLELISM = "parallelism";
+
+    private static final String STREAMING = "streaming";
+
+    private static final String NO_CACHE = "no-cache";
+
     @Override
     public Command getCommand() {
         return new Command() {
@@ -49,11 +69,39 @@ public class CountNetworkLinesTool implements Tool {
             @Override
             public Options getOptions() {
                 Options options = new Options();
-                options.addOption(Option.builder().longOpt(CASE_FILE)
+                OptionGroup cases = new OptionGroup();
+                cases.addOption(Option.builder().longOpt(CASE_FILE)
                         .desc("the case path")
                         .hasArg()
                         .argName("FILE")
-                        .required()
+                        .build());
+                cases.addOption(Option.builder().longOpt(CASE_DIR)
+                        .desc("the directory of the cases, processed concurrently")
+                        .hasArg()
+                        .argName("DIR")
+                        .build());
+                cases.setRequired(true);
+                options.addOptionGroup(cases);
+                options.addOption(Option.builder().longOpt(CASE_PATTERN)
+                        .desc("glob pattern of the case file names in the case directory, all files by default")
+                        .hasArg()
+                        .argName("GLOB")
+                        .build());
+                options.addOption(Option.builder().longOpt(OUTPUT_FORMAT)
+                        .desc("format of the case directory results: CSV (default) or JSON")
+                        .hasArg()
+                        .argName("FORMAT")
+                        .build());
+                options.addOption(Option.builder().longOpt(PARALLELISM)
+                        .desc("maximum number of cases loaded at the same time, the number of processors by default")
+                        .hasArg()
+                        .argName("N")
+                        .build());
+                options.addOption(Option.builder().longOpt(STREAMING)
+                        .desc("count all equipment types with a streaming scan of XIIDM and CGMES cases, instead of importing them")
+                        .build());
+                options.addOption(Option.builder().longOpt(NO_CACHE)
+                        .desc("always import the cases, without the imported network cache")
                         .build());
                 return options;
             }
@@ -66,15 +114,56 @@ public class CountNetworkLinesTool implements Tool {
     }
 
     @Override
-    public void run(CommandLine line, ToolRunningContext context) {
+    public void run(CommandLine line, ToolRunningContext context) throws ParseException {
+        Function<Path, Network> networkReader = line.hasOption(NO_CACHE) ? NetworkCache::importNetwork : NetworkCache.load()::read;
+        if (line.hasOption(CASE_DIR)) {
+            runBatch(line, context, networkReader);
+            return;
+        }
         Path caseFile = context.getFileSystem().getPath(line.getOptionValue(CASE_FILE));
-        context.getOutputStream().println("Loading network '" + caseFile + "'");
-        Network network = Network.read(caseFile);
-        if (network == null) {
-            throw new PowsyblException("Case '" + caseFile + "' not found");
+        if (line.hasOption(STREAMING)) {
+            context.getOutputStream().println("Scanning network '" + caseFile + "'");
+            try {
+                NetworkElementCounter.count(caseFile, networkReader).forEach((type, count) ->
+                        context.getOutputStream().println("Network contains '" + count + "' " + type));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return;
         }
+        context.getOutputStream().println("Loading network '" + caseFile + "'");
+        Network network = networkReader.apply(caseFile);
         int lineCount = network.getLineCount();
         context.getOutputStream().println("Network contains '" + lineCount + "' lines");
     }
 
+    private static void runBatch(CommandLine line, ToolRunningContext context, Function<Path, Network> networkReader) throws ParseException {
+        AbstractCaseResultWriter.Format format = getFormat(line);
+        Path caseDir = context.getFileSystem().getPath(line.getOptionValue(CASE_DIR));
+        List<Path> cases = CaseBatch.findCases(caseDir, line.getOptionValue(CASE_PATTERN, "*"));
+        int parallelism = line.hasOption(PARALLELISM) ? Integer.parseInt(line.getOptionValue(PARALLELISM))
+                                                      : Runtime.getRuntime().availableProcessors();
+        boolean streaming = line.hasOption(STREAMING);
+        List<String> columns = streaming ? NetworkElementCounter.COLUMNS : List.of(NetworkElementCounter.LINES);
+        CaseBatch.CaseTask<Map<String, Long>> task = streaming
+                ? caseFile -> NetworkElementCounter.count(caseFile, networkReader)
+                : caseFile -> Map.of(NetworkElementCounter.LINES, (long) networkReader.apply(caseFile).getLineCount());
+        AbstractCaseResultWriter writer = AbstractCaseResultWriter.create(format, context.getOutputStream(), columns);
+        int failures = CaseBatch.run(cases, parallelism, task, writer::write);
+        // The summary goes to the error stream to keep the output machine-readable
+        context.getErrorStream().println(cases.size() + " cases processed, " + failures + " failed");
+    }
+
+    /**
+     * An invalid format is a usage error: the tool runner prints the message and the command usage.
+     */
+    private static AbstractCaseResultWriter.Format getFormat(CommandLine line) throws ParseException {
+        String value = line.getOptionValue(OUTPUT_FORMAT, AbstractCaseResultWriter.Format.CSV.name());
+        try {
+            return AbstractCaseResultWriter.Format.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ParseException("Invalid --" + OUTPUT_FORMAT + " '" + value + "', expected one of "
+                    + Arrays.toString(AbstractCaseResultWriter.Format.values()));
+        }
+    }
 }
@@ -0,0 +1,196 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.tutorials.tools;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.io.MoreFiles;
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.commons.config.ModuleConfig;
+import com.powsybl.commons.config.PlatformConfig;
+import com.powsybl.commons.datasource.DataSourceUtil;
+import com.powsybl.iidm.network.Network;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Local on-disk cache of imported networks, so that tools run one after the other on the same case only
+ * import it once. Networks are stored in the binary IIDM format, which is much faster to read than the
+ * usual case formats, under a key computed from the path, size, last modification time and content hash
+ * of the case file.
+ * <p>
+ * The total size of the cache is capped: the least recently used networks are removed first. The cache is
+ * configured in the {@code network-cache} module of the platform configuration, with the {@code directory}
+ * and {@code max-size-mb} properties. Any failure of the cache falls back to a plain import.
+ *
+ * @author agent <agent at local>
+ */
+public final class NetworkCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NetworkCache.class);
+
+    private static final String MODULE_NAME = "network-cache";
+
+    private static final Path DEFAULT_DIRECTORY = Paths.get(System.getProperty("user.home"), ".cache", "powsybl", "networks");
+
+    private static final long DEFAULT_MAX_SIZE_MB = 1024;
+
+    private static final String FORMAT = "BIIDM";
+
+    private static final String EXTENSION = "biidm";
+
+    private final Path directory;
+
+    private final long maxSizeBytes;
+
+    public NetworkCache(Path directory, long maxSizeBytes) {
+        this.directory = Objects.requireNonNull(directory);
+        if (maxSizeBytes < 0) {
+            throw new PowsyblException("Invalid network cache size: " + maxSizeBytes);
+        }
+        this.maxSizeBytes = maxSizeBytes;
+    }
+
+    public static NetworkCache load() {
+        return load(PlatformConfig.defaultConfig());
+    }
+
+    public static NetworkCache load(PlatformConfig platformConfig) {
+        ModuleConfig config = platformConfig.getOptionalModuleConfig(MODULE_NAME).orElse(null);
+        Path directory = config != null ? config.getPathProperty("directory", DEFAULT_DIRECTORY) : DEFAULT_DIRECTORY;
+        long maxSizeMb = config != null ? config.getLongProperty("max-size-mb", DEFAULT_MAX_SIZE_MB) : DEFAULT_MAX_SIZE_MB;
+        return new NetworkCache(directory, maxSizeMb * 1024 * 1024);
+    }
+
+    /**
+     * Imports the case, without the cache.
+     */
+    public static Network importNetwork(Path caseFile) {
+        Network network = Network.read(caseFile);
+        if (network == null) {
+            throw new PowsyblException("Case '" + caseFile + "' not found");
+        }
+        return network;
+    }
+
+    /**
+     * Reads the network of the case from the cache, or imports the case and adds its network to the cache.
+     */
+    public Network read(Path caseFile) {
+        String key;
+        try {
+            key = computeKey(caseFile);
+        } catch (IOException e) {
+            LOGGER.warn("Cannot compute the cache key of case '{}': {}", caseFile, e.toString());
+            return importNetwork(caseFile);
+        }
+        Path entry = directory.resolve(key + "." + EXTENSION);
+        if (Files.exists(entry)) {
+            try {
+                long start = System.currentTimeMillis();
+                Network network = Network.read(entry);
+                // The modification time of the entries is their last access time, for the eviction
+                Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+                LOGGER.info("Network of case '{}' read from the cache in {} ms", caseFile, System.currentTimeMillis() - start);
+                return network;
+            } catch (Exception e) {
+                LOGGER.warn("Cannot read cache entry '{}', importing case '{}' again: {}", entry, caseFile, e.toString());
+                deleteQuietly(entry);
+            }
+        }
+        Network network = importNetwork(caseFile);
+        try {
+            store(network, key, entry);
+            evict();
+        } catch (Exception e) {
+            LOGGER.warn("Cannot add the network of case '{}' to the cache: {}", caseFile, e.toString());
+        }
+        return network;
+    }
+
+    private static String computeKey(Path caseFile) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(caseFile, BasicFileAttributes.class);
+        HashCode contentHash = MoreFiles.asByteSource(caseFile).hash(Hashing.sha256());
+        return Hashing.sha256().newHasher()
+            .putString(caseFile.toAbsolutePath().normalize().toString(), StandardCharsets.UTF_8)
+            .putLong(attributes.size())
+            .putLong(attributes.lastModifiedTime().toMillis())
+            .putBytes(contentHash.asBytes())
+            .hash()
+            .toString();
+    }
+
+    private void store(Network network, String key, Path entry) throws IOException {
+        Files.createDirectories(directory);
+        // Written under a temporary name and then renamed, so that concurrent readers never see a partial entry
+        String tmpBaseName = key + ".tmp-" + UUID.randomUUID();
+        network.write(FORMAT, null, DataSourceUtil.createDataSource(directory, tmpBaseName, null, null));
+        Files.move(directory.resolve(tmpBaseName + "." + EXTENSION), entry, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void evict() throws IOException {
+        List<Path> entries;
+        try (Stream<Path> files = Files.list(directory)) {
+            entries = files.filter(NetworkCache::isEntry)
+                .sorted(Comparator.comparing(NetworkCache::getLastModifiedTime).reversed())
+                .toList();
+        }
+        long size = 0;
+        for (Path entry : entries) {
+            size += sizeOf(entry);
+            if (size > maxSizeBytes) {
+                LOGGER.debug("Evicting cache entry '{}'", entry);
+                deleteQuietly(entry);
+            }
+        }
+    }
+
+    private static boolean isEntry(Path file) {
+        String fileName = file.getFileName().toString();
+        return fileName.endsWith("." + EXTENSION) && !fileName.contains(".tmp-");
+    }
+
+    private static FileTime getLastModifiedTime(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            // Removed concurrently
+            return 0;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOGGER.warn("Cannot delete cache entry '{}': {}", file, e.toString());
+        }
+    }
+}
@@ -0,0 +1,276 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.tutorials.tools;
+
+import com.powsybl.iidm.network.Network;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Counts the equipments of a case without building the network, with a single StAX pass over the XML
+ * files, so that the memory used does not depend on the size of the case.
+ * <ul>
+ *     <li>XIIDM files, possibly gzipped, are scanned for the elements of the IIDM namespace, e.g. {@code line}.</li>
+ *     <li>CGMES zip files are scanned for the objects of their EQ profile files, e.g. {@code ACLineSegment}.</li>
+ * </ul>
+ * Other cases are imported and the counts are read from the network.
+ * <p>
+ * The counts of a CGMES case are given by CGMES class, see {@link #CGMES_TYPES}, and not by IIDM equipment type: the
+ * CGMES conversion does not map the classes one to one, e.g. an {@code ACLineSegment} connected to the boundary becomes a
+ * dangling line, and the busbar sections depend on the topology kind of the case.
+ *
+ * @author agent <agent at local>
+ */
+final class NetworkElementCounter {
+
+    static final String SUBSTATIONS = "substations";
+    static final String VOLTAGE_LEVELS = "voltageLevels";
+    static final String LINES = "lines";
+    static final String TWO_WINDINGS_TRANSFORMERS = "twoWindingsTransformers";
+    static final String THREE_WINDINGS_TRANSFORMERS = "threeWindingsTransformers";
+    static final String GENERATORS = "generators";
+    static final String LOADS = "loads";
+    static final String SHUNT_COMPENSATORS = "shuntCompensators";
+    static final String STATIC_VAR_COMPENSATORS = "staticVarCompensators";
+    static final String DANGLING_LINES = "danglingLines";
+    static final String HVDC_LINES = "hvdcLines";
+    static final String BUSBAR_SECTIONS = "busbarSections";
+    static final String SWITCHES = "switches";
+
+    static final List<String> TYPES = List.of(SUBSTATIONS, VOLTAGE_LEVELS, LINES, TWO_WINDINGS_TRANSFORMERS,
+            THREE_WINDINGS_TRANSFORMERS, GENERATORS, LOADS, SHUNT_COMPENSATORS, STATIC_VAR_COMPENSATORS, DANGLING_LINES,
+            HVDC_LINES, BUSBAR_SECTIONS, SWITCHES);
+
+    /**
+     * The CGMES classes counted in the EQ profile files.
+     */
+    static final List<String> CGMES_TYPES = List.of("Substation", "VoltageLevel", "BusbarSection", "ACLineSegment",
+            "PowerTransformer", "PowerTransformerEnd", "SynchronousMachine", "AsynchronousMachine", "EnergyConsumer",
+            "ConformLoad", "NonConformLoad", "EnergySource", "EquivalentInjection", "ExternalNetworkInjection",
+            "LinearShuntCompensator", "NonlinearShuntCompensator", "StaticVarCompensator", "DCLineSegment", "Switch",
+            "Breaker", "Disconnector", "LoadBreakSwitch", "GroundDisconnector", "Fuse", "Jumper");
+
+    /**
+     * The columns of the batch results, a case having only the {@link #TYPES} or only the {@link #CGMES_TYPES} counts.
+     */
+    static final List<String> COLUMNS = Stream.concat(TYPES.stream(), CGMES_TYPES.stream()).toList();
+
+    private static final List<String> IIDM_NAMESPACE_PREFIXES = List.of("http://www.powsybl.org/schema/iidm/",
+            "http://www.itesla_project.eu/schema/iidm/");
+
+    private static final String CGMES_NAMESPACE_PREFIX = "http://iec.ch/TC57/";
+
+    private static final Map<String, String> IIDM_ELEMENTS = Map.ofEntries(
+            Map.entry("substation", SUBSTATIONS),
+            Map.entry("voltageLevel", VOLTAGE_LEVELS),
+            Map.entry("line", LINES),
+            Map.entry("twoWindingsTransformer", TWO_WINDINGS_TRANSFORMERS),
+            Map.entry("threeWindingsTransformer", THREE_WINDINGS_TRANSFORMERS),
+            Map.entry("generator", GENERATORS),
+            Map.entry("load", LOADS),
+            Map.entry("shunt", SHUNT_COMPENSATORS),
+            Map.entry("staticVarCompensator", STATIC_VAR_COMPENSATORS),
+            Map.entry("danglingLine", DANGLING_LINES),
+            Map.entry("hvdcLine", HVDC_LINES),
+            Map.entry("busbarSection", BUSBAR_SECTIONS),
+            Map.entry("switch", SWITCHES));
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+
+    /**
+     * The counts of the case, by IIDM equipment type in the order of {@link #TYPES}, or by CGMES class in the order of
+     * {@link #CGMES_TYPES} for a scanned CGMES case.
+     *
+     * @param networkReader imports the cases that cannot be scanned
+     */
+    static Map<String, Long> count(Path caseFile, Function<Path, Network> networkReader) throws IOException {
+        Map<String, Long> counts = scan(caseFile);
+        return counts != null ? counts : count(networkReader.apply(caseFile));
+    }
+
+    static Map<String, Long> count(Network network) {
+        Counts counts = new Counts(TYPES);
+        counts.add(SUBSTATIONS, network.getSubstationCount());
+        counts.add(VOLTAGE_LEVELS, network.getVoltageLevelCount());
+        counts.add(LINES, network.getLineCount());
+        counts.add(TWO_WINDINGS_TRANSFORMERS, network.getTwoWindingsTransformerCount());
+        counts.add(THREE_WINDINGS_TRANSFORMERS, network.getThreeWindingsTransformerCount());
+        counts.add(GENERATORS, network.getGeneratorCount());
+        counts.add(LOADS, network.getLoadCount());
+        counts.add(SHUNT_COMPENSATORS, network.getShuntCompensatorCount());
+        counts.add(STATIC_VAR_COMPENSATORS, network.getStaticVarCompensatorCount());
+        counts.add(DANGLING_LINES, network.getDanglingLineCount());
+        counts.add(HVDC_LINES, network.getHvdcLineCount());
+        counts.add(BUSBAR_SECTIONS, network.getBusbarSectionCount());
+        counts.add(SWITCHES, network.getSwitchCount());
+        return counts.toMap();
+    }
+
+    /**
+     * @return the counts, or null if there is no streaming scanner for this case
+     */
+    private static Map<String, Long> scan(Path caseFile) throws IOException {
+        String fileName = caseFile.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (fileName.endsWith(".zip")) {
+            return scanCgmesZip(caseFile);
+        }
+        boolean gzipped = fileName.endsWith(".gz");
+        String baseName = gzipped ? fileName.substring(0, fileName.length() - 3) : fileName;
+        if (!baseName.endsWith(".xiidm") && !baseName.endsWith(".iidm") && !baseName.endsWith(".xml")) {
+            return null;
+        }
+        try (InputStream is = open(caseFile, gzipped)) {
+            Counts counts = scanXml(is, new Counts(TYPES), new Counts(CGMES_TYPES));
+            return counts != null ? counts.toMap() : null;
+        }
+    }
+
+    private static InputStream open(Path file, boolean gzipped) throws IOException {
+        InputStream is = new BufferedInputStream(Files.newInputStream(file));
+        return gzipped ? new GZIPInputStream(is) : is;
+    }
+
+    private static Map<String, Long> scanCgmesZip(Path caseFile) throws IOException {
+        try (ZipFile zipFile = new ZipFile(caseFile.toFile())) {
+            List<ZipEntry> eqEntries = new ArrayList<>();
+            zipFile.stream()
+                    .filter(entry -> isEqFile(entry.getName()))
+                    .forEach(eqEntries::add);
+            if (eqEntries.isEmpty()) {
+                return null;
+            }
+            Counts counts = new Counts(CGMES_TYPES);
+            for (ZipEntry entry : eqEntries) {
+                try (InputStream is = new BufferedInputStream(zipFile.getInputStream(entry))) {
+                    scanXml(is, null, counts);
+                }
+            }
+            return counts.toMap();
+        }
+    }
+
+    private static boolean isEqFile(String name) {
+        String upperCaseName = name.toUpperCase(Locale.ROOT);
+        return upperCaseName.endsWith(".XML") && upperCaseName.contains("_EQ") && !upperCaseName.contains("_EQ_BD");
+    }
+
+    /**
+     * @param iidmCounts the counts of an IIDM network, or null if the file cannot be one
+     * @param cgmesCounts the counts of a CGMES RDF document
+     * @return the counts updated, or null if the root element is neither an IIDM network nor a CGMES RDF document
+     */
+    private static Counts scanXml(InputStream is, Counts iidmCounts, Counts cgmesCounts) throws IOException {
+        try {
+            XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(is);
+            try {
+                return scanXml(reader, iidmCounts, cgmesCounts);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static Counts scanXml(XMLStreamReader reader, Counts iidmCounts, Counts cgmesCounts) throws XMLStreamException {
+        reader.nextTag();
+        boolean iidm = iidmCounts != null && "network".equals(reader.getLocalName()) && hasIidmNamespace(reader.getNamespaceURI());
+        boolean cgmes = "RDF".equals(reader.getLocalName());
+        if (!iidm && !cgmes) {
+            return null;
+        }
+        // Depth of the current element, the root element being at depth 1
+        int depth = 1;
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            } else if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+                if (iidm) {
+                    if (hasIidmNamespace(reader.getNamespaceURI())) {
+                        iidmCounts.increment(IIDM_ELEMENTS.get(reader.getLocalName()));
+                    }
+                } else if (depth == 2 && hasCgmesNamespace(reader.getNamespaceURI())) {
+                    // The objects are the children of the root element
+                    cgmesCounts.increment(reader.getLocalName());
+                }
+            }
+        }
+        return iidm ? iidmCounts : cgmesCounts;
+    }
+
+    private static boolean hasIidmNamespace(String uri) {
+        return uri != null && IIDM_NAMESPACE_PREFIXES.stream().anyMatch(prefix -> uri.startsWith(prefix) && !uri.startsWith(prefix + "ext/"));
+    }
+
+    private static boolean hasCgmesNamespace(String uri) {
+        return uri != null && uri.startsWith(CGMES_NAMESPACE_PREFIX);
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    private static final class Counts {
+
+        private final List<String> types;
+
+        private final long[] values;
+
+        private Counts(List<String> types) {
+            this.types = types;
+            this.values = new long[types.size()];
+        }
+
+        /**
+         * Does nothing if the type is null or not counted.
+         */
+        void increment(String type) {
+            int index = type != null ? types.indexOf(type) : -1;
+            if (index >= 0) {
+                values[index]++;
+            }
+        }
+
+        void add(String type, long count) {
+            values[types.indexOf(type)] += count;
+        }
+
+        Map<String, Long> toMap() {
+            Map<String, Long> map = new LinkedHashMap<>();
+            for (int i = 0; i < values.length; i++) {
+                map.put(types.get(i), values[i]);
+            }
+            return map;
+        }
+    }
+
+    private NetworkElementCounter() {
+    }
+}
@@ -0,0 +1,209 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.tutorials.tools;
+
+import com.powsybl.iidm.network.Bus;
+import com.powsybl.iidm.network.Connectable;
+import com.powsybl.iidm.network.DanglingLine;
+import com.powsybl.iidm.network.Generator;
+import com.powsybl.iidm.network.HvdcConverterStation;
+import com.powsybl.iidm.network.HvdcLine;
+import com.powsybl.iidm.network.IdentifiableType;
+import com.powsybl.iidm.network.Load;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.Substation;
+import com.powsybl.iidm.network.Switch;
+import com.powsybl.iidm.network.Terminal;
+import com.powsybl.iidm.network.TopologyKind;
+import com.powsybl.iidm.network.VoltageLevel;
+import com.powsybl.iidm.network.util.Networks;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Equipment counts of a network by voltage level, by country and by connected component, with the
+ * total target generation and load. A branch is counted in the voltage level of its side 1, and a three
+ * windings transformer in the one of its leg 1, so that each equipment is counted once. The HVDC lines and the tie
+ * lines, which are not connected to a voltage level themselves, are counted with their converter station 1 and their
+ * dangling line 1, so their totals are the {@link Network#getHvdcLineCount()} and {@link Network#getTieLineCount()}
+ * of the network. A switch is counted in the connected component of the bus of its side 1.
+ * <p>
+ * The statistics are computed in one parallel pass over the substations. The network is only read
+ * during this pass, and the connected components are computed beforehand, as they are computed lazily.
+ *
+ * @author agent <agent at local>
+ */
+final class NetworkStatistics {
+
+    static final String UNKNOWN_COUNTRY = "UNKNOWN";
+
+    static final String DISCONNECTED = "DISCONNECTED";
+
+    private static final IdentifiableType[] TYPES = IdentifiableType.values();
+
+    private final Map<String, long[]> byVoltageLevel = new HashMap<>();
+
+    private final Map<String, long[]> byCountry = new HashMap<>();
+
+    private final Map<String, long[]> byComponent = new HashMap<>();
+
+    private double totalGeneration;
+
+    private double totalLoad;
+
+    static NetworkStatistics compute(Network network) {
+        network.getBusView().getBuses().forEach(Bus::getConnectedComponent);
+        List<List<VoltageLevel>> units = Stream.concat(
+                network.getSubstationStream().map(s -> s.getVoltageLevelStream().toList()),
+                Stream.of(network.getVoltageLevelStream().filter(vl -> vl.getSubstation().isEmpty()).toList()))
+            .toList();
+        return units.parallelStream()
+            .collect(NetworkStatistics::new, (stats, unit) -> unit.forEach(stats::add), NetworkStatistics::merge);
+    }
+
+    private void add(VoltageLevel vl) {
+        String country = vl.getSubstation()
+            .flatMap(Substation::getCountry)
+            .map(Enum::name)
+            .orElse(UNKNOWN_COUNTRY);
+        long[] vlCounts = byVoltageLevel.computeIfAbsent(vl.getId(), k -> new long[TYPES.length]);
+        long[] countryCounts = byCountry.computeIfAbsent(country, k -> new long[TYPES.length]);
+        vl.getConnectableStream().forEach(connectable -> {
+            Terminal terminal = (Terminal) connectable.getTerminals().get(0);
+            if (terminal.getVoltageLevel() != vl) {
+                return;
+            }
+            String component = getComponent(terminal);
+            count(connectable.getType(), component, vlCounts, countryCounts);
+            if (isHvdcLineSide1(connectable)) {
+                count(IdentifiableType.HVDC_LINE, component, vlCounts, countryCounts);
+            } else if (isTieLineSide1(connectable)) {
+                count(IdentifiableType.TIE_LINE, component, vlCounts, countryCounts);
+            }
+            addPower(connectable);
+        });
+        Map<Integer, String> componentsByNode = vl.getTopologyKind() == TopologyKind.NODE_BREAKER ? getComponentsByNode(vl) : null;
+        for (Switch sw : vl.getSwitches()) {
+            count(IdentifiableType.SWITCH, getSwitchComponent(vl, sw, componentsByNode), vlCounts, countryCounts);
+        }
+    }
+
+    private void count(IdentifiableType type, String component, long[] vlCounts, long[] countryCounts) {
+        vlCounts[type.ordinal()]++;
+        countryCounts[type.ordinal()]++;
+        byComponent.computeIfAbsent(component, k -> new long[TYPES.length])[type.ordinal()]++;
+    }
+
+    private static boolean isHvdcLineSide1(Connectable<?> connectable) {
+        if (connectable instanceof HvdcConverterStation<?> station) {
+            HvdcLine line = station.getHvdcLine();
+            return line != null && line.getConverterStation1() == station;
+        }
+        return false;
+    }
+
+    private static boolean isTieLineSide1(Connectable<?> connectable) {
+        return connectable instanceof DanglingLine danglingLine
+            && danglingLine.getTieLine().map(tieLine -> tieLine.getDanglingLine1() == danglingLine).orElse(false);
+    }
+
+    /**
+     * The component of the buses of the bus view of a node breaker voltage level, by node.
+     */
+    private static Map<Integer, String> getComponentsByNode(VoltageLevel vl) {
+        Map<Integer, String> componentsByNode = new HashMap<>();
+        Networks.getNodesByBus(vl).forEach((busId, nodes) -> {
+            Bus bus = vl.getBusView().getBus(busId);
+            String component = bus != null ? Integer.toString(bus.getConnectedComponent().getNum()) : DISCONNECTED;
+            nodes.forEach(node -> componentsByNode.put(node, component));
+        });
+        return componentsByNode;
+    }
+
+    private static String getSwitchComponent(VoltageLevel vl, Switch sw, Map<Integer, String> componentsByNode) {
+        if (componentsByNode != null) {
+            return componentsByNode.getOrDefault(vl.getNodeBreakerView().getNode1(sw.getId()), DISCONNECTED);
+        }
+        Bus bus = vl.getBusView().getMergedBus(vl.getBusBreakerView().getBus1(sw.getId()).getId());
+        return bus != null ? Integer.toString(bus.getConnectedComponent().getNum()) : DISCONNECTED;
+    }
+
+    private void addPower(Connectable<?> connectable) {
+        if (connectable instanceof Generator generator) {
+            totalGeneration += generator.getTargetP();
+        } else if (connectable instanceof Load load) {
+            totalLoad += load.getP0();
+        }
+    }
+
+    private static String getComponent(Terminal terminal) {
+        Bus bus = terminal.getBusView().getBus();
+        return bus != null ? Integer.toString(bus.getConnectedComponent().getNum()) : DISCONNECTED;
+    }
+
+    private void merge(NetworkStatistics other) {
+        mergeCounts(byVoltageLevel, other.byVoltageLevel);
+        mergeCounts(byCountry, other.byCountry);
+        mergeCounts(byComponent, other.byComponent);
+        totalGeneration += other.totalGeneration;
+        totalLoad += other.totalLoad;
+    }
+
+    private static void mergeCounts(Map<String, long[]> counts, Map<String, long[]> otherCounts) {
+        otherCounts.forEach((key, otherValues) -> counts.merge(key, otherValues, (values, added) -> {
+            for (int i = 0; i < values.length; i++) {
+                values[i] += added[i];
+            }
+            return values;
+        }));
+    }
+
+    Map<String, Map<IdentifiableType, Long>> getCountsByVoltageLevel() {
+        return toMaps(byVoltageLevel);
+    }
+
+    Map<String, Map<IdentifiableType, Long>> getCountsByCountry() {
+        return toMaps(byCountry);
+    }
+
+    /**
+     * Connected components are identified by their number, disconnected equipments by {@value #DISCONNECTED}.
+     */
+    Map<String, Map<IdentifiableType, Long>> getCountsByComponent() {
+        return toMaps(byComponent);
+    }
+
+    double getTotalGeneration() {
+        return totalGeneration;
+    }
+
+    double getTotalLoad() {
+        return totalLoad;
+    }
+
+    /**
+     * Only the types with equipments are kept.
+     */
+    private static Map<String, Map<IdentifiableType, Long>> toMaps(Map<String, long[]> counts) {
+        Map<String, Map<IdentifiableType, Long>> maps = new HashMap<>();
+        counts.forEach((key, values) -> {
+            Map<IdentifiableType, Long> map = new EnumMap<>(IdentifiableType.class);
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != 0) {
+                    map.put(TYPES[i], values[i]);
+                }
+            }
+            maps.put(key, map);
+        });
+        return Collections.unmodifiableMap(maps);
+    }
+}
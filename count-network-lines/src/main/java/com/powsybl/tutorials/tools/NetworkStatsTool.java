@@ -0,0 +1,168 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.tutorials.tools;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystem;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.google.auto.service.AutoService;
+import com.powsybl.iidm.network.IdentifiableType;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.tools.Command;
+import com.powsybl.tools.Tool;
+import com.powsybl.tools.ToolRunningContext;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.OptionGroup;
+import org.apache.commons.cli.Options;
+
+/**
+ * Prints the equipment counts by voltage level, by country and by connected component, and the total
+ * generation and load, of one or several cases as a JSON array. Cases are processed concurrently and each
+ * one is printed as soon as it is done.
+ *
+ * @author agent <agent at local>
+ */
+@AutoService(Tool.class)
+public class NetworkStatsTool implements Tool {
+
+    private static final String CASE_FILE = "case-file";
+
+    private static final String CASE_DIR = "case-dir";
+
+    private static final String CASE_PATTERN = "case-pattern";
+
+    private static final String PARALLELISM = "parallelism";
+
+    private static final String NO_CACHE = "no-cache";
+
+    @Override
+    public Command getCommand() {
+        return new Command() {
+
+            @Override
+            public String getName() {
+                return "network-stats";
+            }
+
+            @Override
+            public String getTheme() {
+                return "Network";
+            }
+
+            @Override
+            public String getDescription() {
+                return "Compute network statistics by voltage level, country and connected component";
+            }
+
+            @Override
+            public Options getOptions() {
+                Options options = new Options();
+                OptionGroup cases = new OptionGroup();
+                cases.addOption(Option.builder().longOpt(CASE_FILE)
+                        .desc("the case paths, separated by commas")
+                        .hasArgs()
+                        .valueSeparator(',')
+                        .argName("FILE1,FILE2,...")
+                        .build());
+                cases.addOption(Option.builder().longOpt(CASE_DIR)
+                        .desc("the directory of the cases")
+                        .hasArg()
+                        .argName("DIR")
+                        .build());
+                cases.setRequired(true);
+                options.addOptionGroup(cases);
+                options.addOption(Option.builder().longOpt(CASE_PATTERN)
+                        .desc("glob pattern of the case file names in the case directory, all files by default")
+                        .hasArg()
+                        .argName("GLOB")
+                        .build());
+                options.addOption(Option.builder().longOpt(PARALLELISM)
+                        .desc("maximum number of cases processed at the same time, the number of processors by default")
+                        .hasArg()
+                        .argName("N")
+                        .build());
+                options.addOption(Option.builder().longOpt(NO_CACHE)
+                        .desc("always import the cases, without the imported network cache")
+                        .build());
+                return options;
+            }
+
+            @Override
+            public String getUsageFooter() {
+                return null;
+            }
+        };
+    }
+
+    @Override
+    public void run(CommandLine line, ToolRunningContext context) throws IOException {
+        FileSystem fileSystem = context.getFileSystem();
+        List<Path> cases = line.hasOption(CASE_DIR)
+                ? CaseBatch.findCases(fileSystem.getPath(line.getOptionValue(CASE_DIR)), line.getOptionValue(CASE_PATTERN, "*"))
+                : Arrays.stream(line.getOptionValues(CASE_FILE)).map(fileSystem::getPath).toList();
+        int parallelism = line.hasOption(PARALLELISM) ? Integer.parseInt(line.getOptionValue(PARALLELISM))
+                                                      : Runtime.getRuntime().availableProcessors();
+        Function<Path, Network> networkReader = line.hasOption(NO_CACHE) ? NetworkCache::importNetwork : NetworkCache.load()::read;
+        int failures;
+        try (JsonGenerator generator = new JsonFactory().createGenerator(context.getOutputStream())) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.useDefaultPrettyPrinter();
+            generator.writeStartArray();
+            failures = CaseBatch.run(cases, parallelism, caseFile -> NetworkStatistics.compute(networkReader.apply(caseFile)),
+                result -> write(generator, result));
+            generator.writeEndArray();
+        }
+        context.getOutputStream().println();
+        context.getErrorStream().println(cases.size() + " cases processed, " + failures + " failed");
+    }
+
+    private static void write(JsonGenerator generator, CaseBatch.CaseResult<NetworkStatistics> result) {
+        try {
+            generator.writeStartObject();
+            generator.writeStringField("case", result.caseFile().toString());
+            generator.writeStringField("status", result.isSuccess() ? "OK" : "FAILED");
+            generator.writeNumberField("durationMs", result.durationMillis());
+            if (result.isSuccess()) {
+                NetworkStatistics statistics = result.value();
+                generator.writeNumberField("totalGeneration", statistics.getTotalGeneration());
+                generator.writeNumberField("totalLoad", statistics.getTotalLoad());
+                writeCounts(generator, "voltageLevels", statistics.getCountsByVoltageLevel());
+                writeCounts(generator, "countries", statistics.getCountsByCountry());
+                writeCounts(generator, "components", statistics.getCountsByComponent());
+            } else {
+                Exception error = result.error();
+                generator.writeStringField("error", error.getMessage() != null ? error.getMessage() : error.toString());
+            }
+            generator.writeEndObject();
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeCounts(JsonGenerator generator, String name, Map<String, Map<IdentifiableType, Long>> counts) throws IOException {
+        generator.writeObjectFieldStart(name);
+        for (Map.Entry<String, Map<IdentifiableType, Long>> e : new TreeMap<>(counts).entrySet()) {
+            generator.writeObjectFieldStart(e.getKey());
+            for (Map.Entry<IdentifiableType, Long> count : e.getValue().entrySet()) {
+                generator.writeNumberField(count.getKey().name(), count.getValue());
+            }
+            generator.writeEndObject();
+        }
+        generator.writeEndObject();
+    }
+}
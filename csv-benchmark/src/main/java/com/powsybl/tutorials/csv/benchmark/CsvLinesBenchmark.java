@@ -0,0 +1,153 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.tutorials.csv.benchmark;
+
+import com.powsybl.commons.datasource.DataSource;
+import com.powsybl.commons.datasource.DataSourceUtil;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.NetworkFactory;
+import com.powsybl.tutorials.csv.export.CsvLinesExporter;
+import com.powsybl.tutorials.csv.importer.CsvLinesImporter;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Round-trip benchmarks of the CSV lines importer and exporter. The size of the synthetic network is
+ * set with the {@code lineCount} parameter, from 10 000 to 1 000 000 lines by default. Other sizes are
+ * given with {@code -p lineCount=5000000}; the largest sizes need a larger heap, e.g.
+ * {@code -jvmArgsAppend -Xmx16g}.
+ * <p>
+ * One operation imports or exports the whole network, and the {@code lines} counter gives the
+ * throughput in lines per second, comparable between sizes.
+ * <p>
+ * The parallel mode of the exporter only applies to the export of all the equipments, so the network
+ * is exported in this mode, and {@code parallel} compares its sequential and parallel rendering.
+ *
+ * @author agent <agent at local>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CsvLinesBenchmark {
+
+    private static final String BASE_NAME = "lines";
+
+    @Param({"10000", "100000", "1000000"})
+    private int lineCount;
+
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    private Network network;
+
+    private Path importDirectory;
+
+    private Path exportDirectory;
+
+    private DataSource importDataSource;
+
+    private DataSource exportDataSource;
+
+    private CsvLinesImporter importer;
+
+    private CsvLinesExporter exporter;
+
+    private Properties importParameters;
+
+    private Properties exportParameters;
+
+    /**
+     * Number of lines imported or exported, reported as a throughput.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class LineCounter {
+
+        public long lines;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            lines = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        network = SyntheticNetworkFactory.create(lineCount);
+        importer = new CsvLinesImporter();
+        exporter = new CsvLinesExporter();
+
+        importParameters = new Properties();
+        importParameters.setProperty(CsvLinesImporter.PARALLEL, Boolean.toString(parallel));
+        exportParameters = new Properties();
+        exportParameters.setProperty(CsvLinesExporter.ALL_EQUIPMENTS, Boolean.TRUE.toString());
+        exportParameters.setProperty(CsvLinesExporter.PARALLEL, Boolean.toString(parallel));
+
+        importDirectory = Files.createTempDirectory("csv-benchmark-import");
+        importDataSource = DataSourceUtil.createDataSource(importDirectory, BASE_NAME, null, null);
+        exporter.export(network, new Properties(), importDataSource);
+
+        exportDirectory = Files.createTempDirectory("csv-benchmark-export");
+        exportDataSource = DataSourceUtil.createDataSource(exportDirectory, BASE_NAME, null, null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        delete(importDirectory);
+        delete(exportDirectory);
+    }
+
+    @Benchmark
+    public Network importLines(LineCounter counter) {
+        Network importedNetwork = importer.importData(importDataSource, NetworkFactory.findDefault(), importParameters);
+        counter.lines += lineCount;
+        return importedNetwork;
+    }
+
+    @Benchmark
+    public void exportLines(LineCounter counter) {
+        exporter.export(network, exportParameters, exportDataSource);
+        counter.lines += lineCount;
+    }
+
+    private static void delete(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
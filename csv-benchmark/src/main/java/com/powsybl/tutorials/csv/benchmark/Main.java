@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.tutorials.csv.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+
+/**
+ * Runs the CSV benchmarks with the GC profiler, for the allocation rate, and the peak heap profiler,
+ * and writes the results as JSON. The first argument is the path of the JSON result file, the other
+ * ones are standard JMH options, e.g. {@code -p lineCount=10000,5000000}. The options may also be
+ * given in a single argument separated by spaces, as passed by the {@code jmh.args} Maven property.
+ *
+ * @author agent <agent at local>
+ */
+public final class Main {
+
+    private static final String DEFAULT_RESULT_FILE = "target/jmh-result.json";
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        String resultFile = args.length > 0 ? args[0] : DEFAULT_RESULT_FILE;
+        String[] jmhArgs = Arrays.stream(args)
+            .skip(1)
+            .flatMap(arg -> Arrays.stream(arg.trim().split("\\s+")))
+            .filter(arg -> !arg.isEmpty())
+            .toArray(String[]::new);
+        Options options = new OptionsBuilder()
+            .parent(new CommandLineOptions(jmhArgs))
+            .include(CsvLinesBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .addProfiler(PeakHeapProfiler.class)
+            .resultFormat(ResultFormatType.JSON)
+            .result(resultFile)
+            .build();
+        new Runner(options).run();
+    }
+
+    private Main() {
+    }
+}
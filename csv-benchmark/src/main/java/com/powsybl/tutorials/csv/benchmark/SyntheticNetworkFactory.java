@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.tutorials.csv.benchmark;
+
+import com.powsybl.iidm.network.Country;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.Substation;
+import com.powsybl.iidm.network.TopologyKind;
+import com.powsybl.iidm.network.VoltageLevel;
+
+/**
+ * Creates networks of any size shaped like the one of {@code EurostagTutorialExample1Factory}:
+ * a chain of 380 kV substations, each with one bus, a generator and a load, and two parallel
+ * lines between consecutive substations, with the parameters of the NHV1_NHV2 lines.
+ *
+ * @author agent <agent at local>
+ */
+public final class SyntheticNetworkFactory {
+
+    public static Network create(int lineCount) {
+        Network network = Network.create("synthetic-" + lineCount, "test");
+        int substationCount = lineCount / 2 + 1;
+        for (int i = 0; i < substationCount; i++) {
+            Substation substation = network.newSubstation()
+                .setId("P" + i)
+                .setCountry(i % 2 == 0 ? Country.FR : Country.BE)
+                .add();
+            VoltageLevel vl = substation.newVoltageLevel()
+                .setId("VLHV" + i)
+                .setNominalV(380)
+                .setTopologyKind(TopologyKind.BUS_BREAKER)
+                .add();
+            String busId = "NHV" + i;
+            vl.getBusBreakerView().newBus()
+                .setId(busId)
+                .add();
+            vl.newGenerator()
+                .setId("GEN" + i)
+                .setBus(busId)
+                .setConnectableBus(busId)
+                .setMinP(-9999.99)
+                .setMaxP(9999.99)
+                .setVoltageRegulatorOn(true)
+                .setTargetV(380)
+                .setTargetP(607)
+                .setTargetQ(301)
+                .add();
+            vl.newLoad()
+                .setId("LOAD" + i)
+                .setBus(busId)
+                .setConnectableBus(busId)
+                .setP0(600)
+                .setQ0(200)
+                .add();
+        }
+        for (int i = 0; i < lineCount; i++) {
+            int from = i / 2;
+            int to = from + 1;
+            network.newLine()
+                .setId("NHV" + from + "_NHV" + to + "_" + (i % 2 + 1))
+                .setVoltageLevel1("VLHV" + from)
+                .setBus1("NHV" + from)
+                .setConnectableBus1("NHV" + from)
+                .setVoltageLevel2("VLHV" + to)
+                .setBus2("NHV" + to)
+                .setConnectableBus2("NHV" + to)
+                .setR(3.0)
+                .setX(33.0)
+                .setG1(0.0)
+                .setB1(386E-6 / 2)
+                .setG2(0.0)
+                .setB2(386E-6 / 2)
+                .add();
+        }
+        return network;
+    }
+
+    private SyntheticNetworkFactory() {
+    }
+}
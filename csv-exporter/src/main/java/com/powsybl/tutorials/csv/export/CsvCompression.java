@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.tutorials.csv.export;
+
+import org.apache.commons.compress.compressors.CompressorException;
+import org.apache.commons.compress.compressors.CompressorStreamFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Compression codecs of the CSV exporter. Streams are created by commons-compress from the codec
+ * name, so any codec it supports can be added here; the CSV importer detects the codec from the
+ * file signature and needs no change.
+ *
+ * @author agent <agent at local>
+ */
+enum CsvCompression {
+    NONE(null, null),
+    GZIP(CompressorStreamFactory.GZIP, "gz"),
+    BZIP2(CompressorStreamFactory.BZIP2, "bz2"),
+    XZ(CompressorStreamFactory.XZ, "xz"),
+    ZSTD(CompressorStreamFactory.ZSTANDARD, "zst");
+
+    private final String compressorName;
+
+    private final String extension;
+
+    CsvCompression(String compressorName, String extension) {
+        this.compressorName = compressorName;
+        this.extension = extension;
+    }
+
+    String getExtension(String dataExtension) {
+        return extension == null ? dataExtension : dataExtension + "." + extension;
+    }
+
+    OutputStream wrap(OutputStream os) throws IOException {
+        if (compressorName == null) {
+            return os;
+        }
+        try {
+            return CompressorStreamFactory.getSingleton().createCompressorOutputStream(compressorName, os);
+        } catch (CompressorException e) {
+            throw new IOException(e);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.tutorials.csv.export;
+
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.commons.datasource.DirectoryDataSource;
+import com.powsybl.commons.datasource.ReadOnlyDataSource;
+import com.powsybl.commons.io.table.TableFormatterConfig;
+import com.powsybl.iidm.network.Line;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.VariantManager;
+import com.powsybl.iidm.network.VoltageLevel;
+import com.powsybl.tutorials.csv.importer.CsvLinesFiles;
+import de.siegmar.fastcsv.reader.CsvReader;
+import de.siegmar.fastcsv.reader.NamedCsvRecord;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Writes the lines that differ between a reference and the network, with an {@code Operation}
+ * column telling how to apply each row: {@code ADD}, {@code REMOVE} or {@code MODIFY}.
+ * <p>
+ * The reference is either another variant of the network or a previous CSV export. Lines and their
+ * electrical parameters are not variant dependent, so a variant reference only yields
+ * {@code MODIFY} rows for lines whose connection changed; a file reference also yields added and
+ * removed lines and parameter changes.
+ * <p>
+ * The values of the written rows have the full double precision, so applying a delta does not round the
+ * parameters of the modified lines. A value read from a previous export is equal to the value of the network if
+ * it is the same number, or if it is the number of the network written with the CSV precision: a change below
+ * this precision is not reported.
+ *
+ * @author agent <agent at local>
+ */
+final class CsvLinesDeltaWriter {
+
+    private static final Pattern PART_SUFFIX = Pattern.compile("_part\\d+$");
+
+    /**
+     * Index of the first electrical parameter in a row, the columns before are ids.
+     */
+    private static final int FIRST_VALUE_COLUMN = 7;
+
+    enum Operation {
+        ADD,
+        REMOVE,
+        MODIFY
+    }
+
+    static Map<String, List<String>> readRows(Network network, String variantId, TableFormatterConfig config) {
+        VariantManager variantManager = network.getVariantManager();
+        String workingVariantId = variantManager.getWorkingVariantId();
+        try {
+            variantManager.setWorkingVariant(variantId);
+            return readRows(network, config);
+        } finally {
+            variantManager.setWorkingVariant(workingVariantId);
+        }
+    }
+
+    static Map<String, List<String>> readRows(Network network, TableFormatterConfig config) {
+        Map<String, List<String>> rows = new LinkedHashMap<>();
+        for (Line line : network.getLines()) {
+            rows.put(line.getId(), formatLine(line, config));
+        }
+        return rows;
+    }
+
+    /**
+     * Read the lines of a previous export, which may be compressed or split into part files.
+     *
+     * @param csvFile the file of the export, or of any of its parts
+     */
+    static Map<String, List<String>> readRows(Path csvFile) throws IOException {
+        ReadOnlyDataSource dataSource = new DirectoryDataSource(csvFile.toAbsolutePath().getParent(), getBaseName(csvFile));
+        List<CsvLinesFiles.Entry> entries = CsvLinesFiles.find(dataSource);
+        if (entries.isEmpty()) {
+            throw new PowsyblException("No lines CSV file found for " + csvFile);
+        }
+        List<String> columns = CsvTable.LINES.getColumns();
+        Map<String, List<String>> rows = new LinkedHashMap<>();
+        for (CsvLinesFiles.Entry entry : entries) {
+            try (CsvReader<NamedCsvRecord> csvReader = CsvReader.builder()
+                     .fieldSeparator(",")
+                     .quoteCharacter('"')
+                     .ofNamedCsvRecord(new InputStreamReader(CsvLinesFiles.open(dataSource, entry), StandardCharsets.UTF_8))) {
+                for (NamedCsvRecord rec : csvReader) {
+                    List<String> row = new ArrayList<>(columns.size());
+                    for (String column : columns) {
+                        row.add(rec.getField(column));
+                    }
+                    rows.put(row.get(0), row);
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * The base name of an export, without its extensions and its part suffix.
+     */
+    private static String getBaseName(Path csvFile) {
+        String fileName = csvFile.getFileName().toString();
+        int extensionIndex = fileName.indexOf(".csv");
+        String baseName = extensionIndex >= 0 ? fileName.substring(0, extensionIndex) : fileName;
+        return PART_SUFFIX.matcher(baseName).replaceFirst("");
+    }
+
+    static void write(CsvTableWriter writer, Map<String, List<String>> referenceRows, Map<String, List<String>> rows) throws IOException {
+        for (Map.Entry<String, List<String>> e : rows.entrySet()) {
+            List<String> referenceRow = referenceRows.get(e.getKey());
+            if (referenceRow == null) {
+                writeRow(writer, Operation.ADD, e.getValue());
+            } else if (!sameRow(referenceRow, e.getValue())) {
+                writeRow(writer, Operation.MODIFY, e.getValue());
+            }
+        }
+        for (Map.Entry<String, List<String>> e : referenceRows.entrySet()) {
+            if (!rows.containsKey(e.getKey())) {
+                writeRow(writer, Operation.REMOVE, e.getValue());
+            }
+        }
+    }
+
+    private static boolean sameRow(List<String> referenceRow, List<String> row) {
+        for (int i = 0; i < row.size(); i++) {
+            String referenceCell = referenceRow.get(i);
+            String cell = row.get(i);
+            if (!referenceCell.equals(cell) && (i < FIRST_VALUE_COLUMN || !sameValue(referenceCell, cell))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameValue(String referenceCell, String cell) {
+        try {
+            double value = Double.parseDouble(cell);
+            return Double.parseDouble(referenceCell) == value
+                || referenceCell.equals(String.format(Locale.US, "%g", value));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    static List<String> getColumns() {
+        List<String> columns = new ArrayList<>();
+        columns.add(CsvLinesFiles.OPERATION_COLUMN);
+        columns.addAll(CsvTable.LINES.getColumns());
+        return columns;
+    }
+
+    private static void writeRow(CsvTableWriter writer, Operation operation, List<String> row) throws IOException {
+        writer.writeCell(operation.name());
+        for (String cell : row) {
+            writer.writeCell(cell);
+        }
+    }
+
+    private static List<String> formatLine(Line line, TableFormatterConfig config) {
+        VoltageLevel vl1 = line.getTerminal1().getVoltageLevel();
+        VoltageLevel vl2 = line.getTerminal2().getVoltageLevel();
+        return List.of(line.getId(),
+                       NetworkTablesWriter.getSubstationId(vl1),
+                       NetworkTablesWriter.getSubstationId(vl2),
+                       vl1.getId(),
+                       vl2.getId(),
+                       NetworkTablesWriter.getBusId(line.getTerminal1()),
+                       NetworkTablesWriter.getBusId(line.getTerminal2()),
+                       format(line.getR(), config),
+                       format(line.getX(), config),
+                       format(line.getG1(), config),
+                       format(line.getB1(), config),
+                       format(line.getG2(), config),
+                       format(line.getB2(), config));
+    }
+
+    /**
+     * Full precision, unlike {@link CsvTableWriter#writeCell(double)}, which rounds to the CSV precision.
+     */
+    private static String format(double value, TableFormatterConfig config) {
+        return Double.isNaN(value) ? config.getInvalidString() : Double.toString(value);
+    }
+
+    private CsvLinesDeltaWriter() {
+    }
+}
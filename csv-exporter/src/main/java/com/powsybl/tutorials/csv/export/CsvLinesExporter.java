@@ -7,14 +7,25 @@
 package com.powsybl.tutorials.csv.export;
 
 import com.google.auto.service.AutoService;
+import com.google.common.base.Strings;
+import com.google.common.io.Closer;
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.commons.config.PlatformConfig;
 import com.powsybl.commons.datasource.DataSource;
-import com.powsybl.commons.io.table.*;
+import com.powsybl.commons.io.table.TableFormatterConfig;
+import com.powsybl.commons.parameters.Parameter;
+import com.powsybl.commons.parameters.ParameterDefaultValueConfig;
+import com.powsybl.commons.parameters.ParameterType;
 import com.powsybl.iidm.network.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.*;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 
@@ -28,11 +39,61 @@ public class CsvLinesExporter implements Exporter {
 
     private static final String EXTENSION = "csv";
 
+    private static final String FORMAT = "CSV";
+
     private static final char CSV_SEPARATOR = ',';
 
+    public static final String ALL_EQUIPMENTS = "csv.export.all-equipments";
+
+    public static final String PARALLEL = "csv.export.parallel";
+
+    public static final String COMPRESSION = "csv.export.compression";
+
+    public static final String PARTS = "csv.export.parts";
+
+    public static final String DELTA_REFERENCE_VARIANT = "csv.export.delta.reference-variant";
+
+    public static final String DELTA_REFERENCE_FILE = "csv.export.delta.reference-file";
+
+    private static final String PART_SUFFIX = "_part";
+
+    private static final Parameter ALL_EQUIPMENTS_PARAMETER = new Parameter(ALL_EQUIPMENTS, ParameterType.BOOLEAN,
+            "Also export transformers, generators, loads and HVDC lines, each in its own CSV file", Boolean.FALSE);
+
+    private static final Parameter PARALLEL_PARAMETER = new Parameter(PARALLEL, ParameterType.BOOLEAN,
+            "Render the substations in parallel when exporting all equipments", Boolean.FALSE);
+
+    private static final Parameter COMPRESSION_PARAMETER = new Parameter(COMPRESSION, ParameterType.STRING,
+            "Compression of the CSV files: NONE, GZIP, BZIP2, XZ or ZSTD", CsvCompression.NONE.name());
+
+    private static final Parameter PARTS_PARAMETER = new Parameter(PARTS, ParameterType.INTEGER,
+            "Number of part files the lines are split into, by substation of side 1", 1);
+
+    private static final Parameter DELTA_REFERENCE_VARIANT_PARAMETER = new Parameter(DELTA_REFERENCE_VARIANT, ParameterType.STRING,
+            "Only export the lines that changed since this variant of the network", "");
+
+    private static final Parameter DELTA_REFERENCE_FILE_PARAMETER = new Parameter(DELTA_REFERENCE_FILE, ParameterType.STRING,
+            "Only export the lines that changed since this previous CSV export: one of its files, possibly compressed or a part", "");
+
+    private final ParameterDefaultValueConfig defaultValueConfig;
+
+    public CsvLinesExporter() {
+        this(PlatformConfig.defaultConfig());
+    }
+
+    public CsvLinesExporter(PlatformConfig platformConfig) {
+        defaultValueConfig = new ParameterDefaultValueConfig(Objects.requireNonNull(platformConfig));
+    }
+
     @Override
     public String getFormat() {
-        return "CSV";
+        return FORMAT;
+    }
+
+    @Override
+    public List<Parameter> getParameters() {
+        return List.of(ALL_EQUIPMENTS_PARAMETER, PARALLEL_PARAMETER, COMPRESSION_PARAMETER, PARTS_PARAMETER,
+                       DELTA_REFERENCE_VARIANT_PARAMETER, DELTA_REFERENCE_FILE_PARAMETER);
     }
 
     @Override
@@ -47,55 +108,93 @@ public class CsvLinesExporter implements Exporter {
         try {
             long startTime = System.currentTimeMillis();
 
-            TableFormatterFactory factory = new CsvTableFormatterFactory();
             TableFormatterConfig tfc = new TableFormatterConfig(Locale.US, CSV_SEPARATOR, "N/A", true, false);
 
-            try (Writer writer = new OutputStreamWriter(dataSource.newOutputStream(null, EXTENSION, false));
-                 TableFormatter formatter = factory.create(writer, "", tfc,
-                     new Column("LineId"),
-                     new Column("SubstationId1"),
-                     new Column("SubstationId2"),
-                     new Column("VoltageLevelId1"),
-                     new Column("VoltageLevelId2"),
-                     new Column("BusId1"),
-                     new Column("BusId2"),
-                     new Column("R"),
-                     new Column("X"),
-                     new Column("G1"),
-                     new Column("B1"),
-                     new Column("G2"),
-                     new Column("B2"))) {
-
-                for (Line line : network.getLines()) {
-                    VoltageLevel vl1 = line.getTerminal1().getVoltageLevel();
-                    VoltageLevel vl2 = line.getTerminal2().getVoltageLevel();
-
-                    Bus bus1 = line.getTerminal1().getBusBreakerView().getBus();
-                    String bus1Id = (bus1 != null) ? bus1.getId() : "";
-
-                    Bus bus2 = line.getTerminal2().getBusBreakerView().getBus();
-                    String bus2Id = (bus2 != null) ? bus2.getId() : "";
-
-                    LOGGER.debug("export lineID {} ", line.getId());
-                    formatter.writeCell(line.getId())
-                        .writeCell(vl1.getSubstation().map(Substation::getId).orElse("null"))
-                        .writeCell(vl2.getSubstation().map(Substation::getId).orElse("null"))
-                        .writeCell(vl1.getId())
-                        .writeCell(vl2.getId())
-                        .writeCell(bus1Id)
-                        .writeCell(bus2Id)
-                        .writeCell(line.getR())
-                        .writeCell(line.getX())
-                        .writeCell(line.getG1())
-                        .writeCell(line.getB1())
-                        .writeCell(line.getG2())
-                        .writeCell(line.getB2());
-                }
-                LOGGER.info("CSV export done in {} ms", System.currentTimeMillis() - startTime);
+            CsvCompression compression = CsvCompression.valueOf(Parameter.readString(FORMAT, parameters, COMPRESSION_PARAMETER, defaultValueConfig));
+            String referenceVariantId = Parameter.readString(FORMAT, parameters, DELTA_REFERENCE_VARIANT_PARAMETER, defaultValueConfig);
+            String referenceFile = Parameter.readString(FORMAT, parameters, DELTA_REFERENCE_FILE_PARAMETER, defaultValueConfig);
+            boolean delta = !Strings.isNullOrEmpty(referenceVariantId) || !Strings.isNullOrEmpty(referenceFile);
+            boolean allEquipments = Parameter.readBoolean(FORMAT, parameters, ALL_EQUIPMENTS_PARAMETER, defaultValueConfig);
+            boolean parallel = Parameter.readBoolean(FORMAT, parameters, PARALLEL_PARAMETER, defaultValueConfig);
+            int parts = Parameter.readInteger(FORMAT, parameters, PARTS_PARAMETER, defaultValueConfig);
+            checkOptions(delta, allEquipments, parallel, parts);
+            if (delta) {
+                writeDelta(network, dataSource, compression, tfc, referenceVariantId, referenceFile);
+            } else if (allEquipments) {
+                NetworkTablesWriter.write(network, dataSource, EXTENSION, compression, tfc, parallel);
+            } else {
+                writeLines(network, dataSource, compression, tfc, parts);
             }
+            LOGGER.info("CSV export of {} lines done in {} ms", network.getLineCount(), System.currentTimeMillis() - startTime);
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
     }
 
+    /**
+     * A delta, the export of all the equipments and the split into parts are exclusive, and the parallel
+     * rendering only applies to the export of all the equipments.
+     */
+    private static void checkOptions(boolean delta, boolean allEquipments, boolean parallel, int parts) {
+        if (parts < 1) {
+            throw new PowsyblException(PARTS + " must be at least 1: " + parts);
+        }
+        if (delta && allEquipments) {
+            throw new PowsyblException("A delta only covers the lines: " + ALL_EQUIPMENTS + " cannot be set with "
+                + DELTA_REFERENCE_VARIANT + " or " + DELTA_REFERENCE_FILE);
+        }
+        if (parts > 1 && (delta || allEquipments)) {
+            throw new PowsyblException("Only the lines can be split into parts: " + PARTS + " cannot be set with "
+                + (delta ? "a delta reference" : ALL_EQUIPMENTS));
+        }
+        if (parallel && !allEquipments) {
+            throw new PowsyblException(PARALLEL + " only applies to the export of all the equipments, set " + ALL_EQUIPMENTS);
+        }
+    }
+
+    /**
+     * Write the lines that changed since the reference variant or file, with the operation to apply.
+     */
+    private static void writeDelta(Network network, DataSource dataSource, CsvCompression compression, TableFormatterConfig tfc,
+                                   String referenceVariantId, String referenceFile) throws IOException {
+        Map<String, List<String>> referenceRows;
+        if (!Strings.isNullOrEmpty(referenceVariantId)) {
+            if (!Strings.isNullOrEmpty(referenceFile)) {
+                throw new PowsyblException("Only one of " + DELTA_REFERENCE_VARIANT + " and " + DELTA_REFERENCE_FILE + " can be set");
+            }
+            referenceRows = CsvLinesDeltaWriter.readRows(network, referenceVariantId, tfc);
+        } else {
+            referenceRows = CsvLinesDeltaWriter.readRows(Paths.get(referenceFile));
+        }
+        Map<String, List<String>> rows = CsvLinesDeltaWriter.readRows(network, tfc);
+        try (CsvTableWriter writer = CsvTableWriter.open(dataSource, null, EXTENSION, compression, tfc, CsvLinesDeltaWriter.getColumns())) {
+            CsvLinesDeltaWriter.write(writer, referenceRows, rows);
+        }
+    }
+
+    /**
+     * Write the lines table, split into several part files if requested. All lines of a given
+     * substation of side 1 go to the same part, and part files are named after the base name
+     * with a {@code _part<i>} suffix. All the writers are closed, even if one of them fails to close.
+     */
+    private static void writeLines(Network network, DataSource dataSource, CsvCompression compression,
+                                   TableFormatterConfig tfc, int parts) throws IOException {
+        CsvTable table = CsvTable.LINES;
+        CsvTableWriter[] writers = new CsvTableWriter[parts];
+        Closer closer = Closer.create();
+        try {
+            for (int i = 0; i < parts; i++) {
+                String suffix = parts == 1 ? table.getSuffix() : PART_SUFFIX + i;
+                writers[i] = closer.register(CsvTableWriter.open(dataSource, suffix, EXTENSION, compression, tfc, table.getColumns()));
+            }
+            for (Line line : network.getLines()) {
+                String substationId = NetworkTablesWriter.getSubstationId(line.getTerminal1().getVoltageLevel());
+                NetworkTablesWriter.writeLine(writers[Math.floorMod(substationId.hashCode(), parts)], line);
+            }
+        } catch (Throwable t) {
+            throw closer.rethrow(t);
+        } finally {
+            closer.close();
+        }
+    }
 }
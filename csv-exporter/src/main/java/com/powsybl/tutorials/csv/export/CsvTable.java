@@ -0,0 +1,45 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.tutorials.csv.export;
+
+import java.util.List;
+
+/**
+ * The CSV tables written by the exporter. Each table is a separate entry of the data source,
+ * identified by its suffix. The lines table has no suffix so that it stays readable by the
+ * CSV importer.
+ *
+ * @author agent <agent at local>
+ */
+enum CsvTable {
+    LINES(null, List.of("LineId", "SubstationId1", "SubstationId2", "VoltageLevelId1", "VoltageLevelId2",
+                        "BusId1", "BusId2", "R", "X", "G1", "B1", "G2", "B2")),
+    TWO_WINDINGS_TRANSFORMERS("_transformers", List.of("TransformerId", "SubstationId", "VoltageLevelId1", "VoltageLevelId2",
+                                                       "BusId1", "BusId2", "R", "X", "G", "B", "RatedU1", "RatedU2")),
+    GENERATORS("_generators", List.of("GeneratorId", "SubstationId", "VoltageLevelId", "BusId", "EnergySource",
+                                      "MinP", "MaxP", "TargetP", "TargetQ", "TargetV", "VoltageRegulatorOn")),
+    LOADS("_loads", List.of("LoadId", "SubstationId", "VoltageLevelId", "BusId", "P0", "Q0")),
+    HVDC_LINES("_hvdc", List.of("HvdcLineId", "ConverterStationId1", "ConverterStationId2", "VoltageLevelId1", "VoltageLevelId2",
+                                "R", "NominalV", "MaxP", "ActivePowerSetpoint"));
+
+    private final String suffix;
+
+    private final List<String> columns;
+
+    CsvTable(String suffix, List<String> columns) {
+        this.suffix = suffix;
+        this.columns = columns;
+    }
+
+    String getSuffix() {
+        return suffix;
+    }
+
+    List<String> getColumns() {
+        return columns;
+    }
+}
@@ -0,0 +1,212 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.tutorials.csv.export;
+
+import com.powsybl.commons.datasource.DataSource;
+import com.powsybl.commons.datasource.DirectoryDataSource;
+import com.powsybl.commons.io.table.TableFormatterConfig;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Formatter;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Writes a CSV table directly to a byte channel through reusable buffers.
+ * <p>
+ * The output is the same as the one of a {@link com.powsybl.commons.io.table.CsvTableFormatter}
+ * configured with the same {@link TableFormatterConfig}: same header, separator, line separator,
+ * invalid value string and {@code %g} number format. Cells are appended to a reusable char buffer,
+ * doubles are formatted into a reusable {@link StringBuilder}, and the encoded bytes go straight
+ * to the channel without any intermediate {@link java.io.Writer}.
+ *
+ * @author agent <agent at local>
+ */
+final class CsvTableWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final WritableByteChannel channel;
+
+    private final TableFormatterConfig config;
+
+    private final String title;
+
+    private final List<String> columns;
+
+    private final CharBuffer chars;
+
+    private final ByteBuffer bytes;
+
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+
+    private final StringBuilder number = new StringBuilder(32);
+
+    private final Formatter numberFormatter;
+
+    private int column = 0;
+
+    private boolean headerDone = false;
+
+    CsvTableWriter(WritableByteChannel channel, boolean direct, int bufferSize, String title, TableFormatterConfig config, List<String> columns) {
+        this.channel = Objects.requireNonNull(channel);
+        this.config = Objects.requireNonNull(config);
+        this.title = Objects.requireNonNull(title);
+        this.columns = List.copyOf(columns);
+        this.chars = CharBuffer.allocate(bufferSize);
+        int maxBytes = (int) Math.ceil(bufferSize * (double) encoder.maxBytesPerChar());
+        this.bytes = direct ? ByteBuffer.allocateDirect(maxBytes) : ByteBuffer.allocate(maxBytes);
+        this.numberFormatter = new Formatter(number, config.getLocale());
+    }
+
+    /**
+     * Open a table writer on the given data source entry. Plain directory data sources are written
+     * through a {@link FileChannel}, any other data source through its output stream. Compressed
+     * entries are compressed on a separate thread while the table is being formatted.
+     */
+    static CsvTableWriter open(DataSource dataSource, String suffix, String ext, CsvCompression compression,
+                               TableFormatterConfig config, List<String> columns) throws IOException {
+        WritableByteChannel channel;
+        boolean direct;
+        if (compression != CsvCompression.NONE) {
+            OutputStream os = dataSource.newOutputStream(suffix, compression.getExtension(ext), false);
+            channel = Channels.newChannel(new PipelinedOutputStream(compression.wrap(os)));
+            direct = false;
+        } else if (dataSource.getClass() == DirectoryDataSource.class) {
+            String fileName = dataSource.getBaseName() + (suffix != null ? suffix : "") + "." + ext;
+            channel = FileChannel.open(((DirectoryDataSource) dataSource).getDirectory().resolve(fileName),
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            direct = true;
+        } else {
+            channel = Channels.newChannel(dataSource.newOutputStream(suffix, ext, false));
+            direct = false;
+        }
+        return new CsvTableWriter(channel, direct, BUFFER_SIZE, "", config, columns);
+    }
+
+    CsvTableWriter writeCell(String value) throws IOException {
+        writeHeaderIfNotDone();
+        append(value);
+        endCell();
+        return this;
+    }
+
+    CsvTableWriter writeCell(double value) throws IOException {
+        writeHeaderIfNotDone();
+        if (Double.isNaN(value)) {
+            append(config.getInvalidString());
+        } else {
+            number.setLength(0);
+            numberFormatter.format("%g", value);
+            append(number);
+        }
+        endCell();
+        return this;
+    }
+
+    /**
+     * Append complete rows that were already encoded by another writer, for instance one
+     * that rendered a part of the table in memory with the header disabled.
+     */
+    void writeRows(ByteBuffer encodedRows) throws IOException {
+        if (column != 0) {
+            throw new IllegalStateException("Cannot append rows in the middle of a row");
+        }
+        writeHeaderIfNotDone();
+        drain(false);
+        while (encodedRows.hasRemaining()) {
+            channel.write(encodedRows);
+        }
+    }
+
+    private void writeHeaderIfNotDone() throws IOException {
+        if (headerDone) {
+            return;
+        }
+        headerDone = true;
+        if (config.getPrintTitle()) {
+            append(title);
+            append(LINE_SEPARATOR);
+        }
+        if (config.getPrintHeader()) {
+            for (int i = 0; i < columns.size(); i++) {
+                append(columns.get(i));
+                if (i < columns.size() - 1) {
+                    append(config.getCsvSeparator());
+                }
+            }
+            append(LINE_SEPARATOR);
+        }
+    }
+
+    private void endCell() throws IOException {
+        if (column < columns.size() - 1) {
+            append(config.getCsvSeparator());
+            column++;
+        } else {
+            append(LINE_SEPARATOR);
+            column = 0;
+        }
+    }
+
+    private void append(char c) throws IOException {
+        if (!chars.hasRemaining()) {
+            drain(false);
+        }
+        chars.put(c);
+    }
+
+    private void append(CharSequence s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            append(s.charAt(i));
+        }
+    }
+
+    private void drain(boolean endOfInput) throws IOException {
+        chars.flip();
+        CoderResult result;
+        do {
+            result = encoder.encode(chars, bytes, endOfInput);
+            writeBytes();
+        } while (result.isOverflow());
+        // An incomplete surrogate pair may be left for the next round
+        chars.compact();
+    }
+
+    private void writeBytes() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        bytes.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            writeHeaderIfNotDone();
+            drain(true);
+            encoder.flush(bytes);
+            writeBytes();
+        } finally {
+            channel.close();
+        }
+    }
+}
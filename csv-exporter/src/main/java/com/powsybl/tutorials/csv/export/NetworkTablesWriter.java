@@ -0,0 +1,253 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.tutorials.csv.export;
+
+import com.powsybl.commons.datasource.DataSource;
+import com.powsybl.commons.io.table.TableFormatterConfig;
+import com.powsybl.iidm.network.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes every {@link CsvTable} of a network in a single traversal. Each voltage level is visited
+ * once with a {@link TopologyVisitor}, and each equipment type goes to its own table writer.
+ * <p>
+ * In parallel mode, the voltage levels of each substation are rendered in memory on a worker
+ * thread, and the rendered rows are appended to the tables in substation order, so the output
+ * does not depend on thread scheduling.
+ *
+ * @author agent <agent at local>
+ */
+final class NetworkTablesWriter {
+
+    private static final int FRAGMENT_BUFFER_SIZE = 4 * 1024;
+
+    static void write(Network network, DataSource dataSource, String ext, CsvCompression compression,
+                      TableFormatterConfig config, boolean parallel) throws IOException {
+        List<List<VoltageLevel>> units = getVisitUnits(network);
+        Map<CsvTable, CsvTableWriter> writers = new EnumMap<>(CsvTable.class);
+        try {
+            for (CsvTable table : CsvTable.values()) {
+                writers.put(table, CsvTableWriter.open(dataSource, table.getSuffix(), ext, compression, config, table.getColumns()));
+            }
+            if (parallel) {
+                TableFormatterConfig fragmentConfig = new TableFormatterConfig(config.getLocale(), config.getCsvSeparator(),
+                                                                               config.getInvalidString(), false, false);
+                units.parallelStream()
+                    .map(unit -> render(unit, fragmentConfig))
+                    .forEachOrdered(fragments -> fragments.forEach((table, rows) -> {
+                        try {
+                            writers.get(table).writeRows(rows);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }));
+            } else {
+                TopologyVisitor visitor = new TablesVisitor(writers);
+                for (List<VoltageLevel> unit : units) {
+                    unit.forEach(vl -> vl.visitEquipments(visitor));
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            for (CsvTableWriter writer : writers.values()) {
+                writer.close();
+            }
+        }
+    }
+
+    /**
+     * Group the voltage levels by substation. Voltage levels without substation are units of their own.
+     */
+    private static List<List<VoltageLevel>> getVisitUnits(Network network) {
+        List<List<VoltageLevel>> units = new ArrayList<>();
+        for (Substation substation : network.getSubstations()) {
+            units.add(substation.getVoltageLevelStream().toList());
+        }
+        network.getVoltageLevelStream()
+            .filter(vl -> vl.getSubstation().isEmpty())
+            .forEach(vl -> units.add(List.of(vl)));
+        return units;
+    }
+
+    private static Map<CsvTable, ByteBuffer> render(List<VoltageLevel> unit, TableFormatterConfig fragmentConfig) {
+        Map<CsvTable, ByteArrayOutputStream> outputs = new EnumMap<>(CsvTable.class);
+        Map<CsvTable, CsvTableWriter> writers = new EnumMap<>(CsvTable.class);
+        try {
+            for (CsvTable table : CsvTable.values()) {
+                ByteArrayOutputStream os = new ByteArrayOutputStream();
+                outputs.put(table, os);
+                writers.put(table, new CsvTableWriter(Channels.newChannel(os), false, FRAGMENT_BUFFER_SIZE, "", fragmentConfig, table.getColumns()));
+            }
+            TopologyVisitor visitor = new TablesVisitor(writers);
+            unit.forEach(vl -> vl.visitEquipments(visitor));
+            for (CsvTableWriter writer : writers.values()) {
+                writer.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Map<CsvTable, ByteBuffer> fragments = new EnumMap<>(CsvTable.class);
+        outputs.forEach((table, os) -> fragments.put(table, ByteBuffer.wrap(os.toByteArray())));
+        return fragments;
+    }
+
+    static void writeLine(CsvTableWriter writer, Line line) throws IOException {
+        VoltageLevel vl1 = line.getTerminal1().getVoltageLevel();
+        VoltageLevel vl2 = line.getTerminal2().getVoltageLevel();
+        writer.writeCell(line.getId())
+            .writeCell(getSubstationId(vl1))
+            .writeCell(getSubstationId(vl2))
+            .writeCell(vl1.getId())
+            .writeCell(vl2.getId())
+            .writeCell(getBusId(line.getTerminal1()))
+            .writeCell(getBusId(line.getTerminal2()))
+            .writeCell(line.getR())
+            .writeCell(line.getX())
+            .writeCell(line.getG1())
+            .writeCell(line.getB1())
+            .writeCell(line.getG2())
+            .writeCell(line.getB2());
+    }
+
+    private static void writeTransformer(CsvTableWriter writer, TwoWindingsTransformer twt) throws IOException {
+        writer.writeCell(twt.getId())
+            .writeCell(twt.getSubstation().map(Substation::getId).orElse("null"))
+            .writeCell(twt.getTerminal1().getVoltageLevel().getId())
+            .writeCell(twt.getTerminal2().getVoltageLevel().getId())
+            .writeCell(getBusId(twt.getTerminal1()))
+            .writeCell(getBusId(twt.getTerminal2()))
+            .writeCell(twt.getR())
+            .writeCell(twt.getX())
+            .writeCell(twt.getG())
+            .writeCell(twt.getB())
+            .writeCell(twt.getRatedU1())
+            .writeCell(twt.getRatedU2());
+    }
+
+    private static void writeGenerator(CsvTableWriter writer, Generator generator) throws IOException {
+        VoltageLevel vl = generator.getTerminal().getVoltageLevel();
+        writer.writeCell(generator.getId())
+            .writeCell(getSubstationId(vl))
+            .writeCell(vl.getId())
+            .writeCell(getBusId(generator.getTerminal()))
+            .writeCell(generator.getEnergySource().name())
+            .writeCell(generator.getMinP())
+            .writeCell(generator.getMaxP())
+            .writeCell(generator.getTargetP())
+            .writeCell(generator.getTargetQ())
+            .writeCell(generator.getTargetV())
+            .writeCell(Boolean.toString(generator.isVoltageRegulatorOn()));
+    }
+
+    private static void writeLoad(CsvTableWriter writer, Load load) throws IOException {
+        VoltageLevel vl = load.getTerminal().getVoltageLevel();
+        writer.writeCell(load.getId())
+            .writeCell(getSubstationId(vl))
+            .writeCell(vl.getId())
+            .writeCell(getBusId(load.getTerminal()))
+            .writeCell(load.getP0())
+            .writeCell(load.getQ0());
+    }
+
+    private static void writeHvdcLine(CsvTableWriter writer, HvdcLine hvdcLine) throws IOException {
+        writer.writeCell(hvdcLine.getId())
+            .writeCell(hvdcLine.getConverterStation1().getId())
+            .writeCell(hvdcLine.getConverterStation2().getId())
+            .writeCell(hvdcLine.getConverterStation1().getTerminal().getVoltageLevel().getId())
+            .writeCell(hvdcLine.getConverterStation2().getTerminal().getVoltageLevel().getId())
+            .writeCell(hvdcLine.getR())
+            .writeCell(hvdcLine.getNominalV())
+            .writeCell(hvdcLine.getMaxP())
+            .writeCell(hvdcLine.getActivePowerSetpoint());
+    }
+
+    static String getSubstationId(VoltageLevel vl) {
+        return vl.getSubstation().map(Substation::getId).orElse("null");
+    }
+
+    static String getBusId(Terminal terminal) {
+        Bus bus = terminal.getBusBreakerView().getBus();
+        return (bus != null) ? bus.getId() : "";
+    }
+
+    /**
+     * Branches are visited from both of their voltage levels: they are only written from side one.
+     */
+    private static final class TablesVisitor extends DefaultTopologyVisitor {
+
+        private final Map<CsvTable, CsvTableWriter> writers;
+
+        private TablesVisitor(Map<CsvTable, CsvTableWriter> writers) {
+            this.writers = writers;
+        }
+
+        @Override
+        public void visitLine(Line line, TwoSides side) {
+            if (side == TwoSides.ONE) {
+                try {
+                    writeLine(writers.get(CsvTable.LINES), line);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
+        @Override
+        public void visitTwoWindingsTransformer(TwoWindingsTransformer transformer, TwoSides side) {
+            if (side == TwoSides.ONE) {
+                try {
+                    writeTransformer(writers.get(CsvTable.TWO_WINDINGS_TRANSFORMERS), transformer);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
+        @Override
+        public void visitGenerator(Generator generator) {
+            try {
+                writeGenerator(writers.get(CsvTable.GENERATORS), generator);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void visitLoad(Load load) {
+            try {
+                writeLoad(writers.get(CsvTable.LOADS), load);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void visitHvdcConverterStation(HvdcConverterStation<?> converterStation) {
+            HvdcLine hvdcLine = converterStation.getHvdcLine();
+            if (hvdcLine != null && hvdcLine.getConverterStation1() == converterStation) {
+                try {
+                    writeHvdcLine(writers.get(CsvTable.HVDC_LINES), hvdcLine);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+
+    private NetworkTablesWriter() {
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.tutorials.csv.export;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands the written bytes over to a dedicated thread that writes them to the delegate stream,
+ * so that an expensive delegate, a compressor for instance, runs concurrently with the code
+ * producing the bytes. The queue between both threads is bounded: the producer blocks when the
+ * delegate falls behind.
+ *
+ * @author agent <agent at local>
+ */
+final class PipelinedOutputStream extends OutputStream {
+
+    private static final int QUEUE_CAPACITY = 16;
+
+    private static final byte[] END = new byte[0];
+
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+    private final BlockingQueue<byte[]> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+    private final Thread consumer;
+
+    private volatile IOException failure;
+
+    private boolean closed = false;
+
+    PipelinedOutputStream(OutputStream delegate) {
+        Objects.requireNonNull(delegate);
+        consumer = new Thread(() -> consume(delegate), "csv-export-pipeline");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    /**
+     * Once the delegate failed, the blocks are still taken and discarded until the end, so the producer
+     * never waits for a consumer that stopped.
+     */
+    private void consume(OutputStream delegate) {
+        try {
+            byte[] block;
+            while ((block = queue.take()) != END) {
+                if (failure == null) {
+                    try {
+                        delegate.write(block);
+                    } catch (IOException e) {
+                        failure = e;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            try {
+                delegate.close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        checkFailure();
+        if (len > 0) {
+            put(Arrays.copyOfRange(b, off, off + len));
+        }
+    }
+
+    private void put(byte[] block) throws IOException {
+        try {
+            while (!queue.offer(block, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (!consumer.isAlive()) {
+                    checkFailure();
+                    throw new IOException("Pipelined write failed: the writing thread stopped");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+    }
+
+    private void checkFailure() throws IOException {
+        if (failure != null) {
+            throw new IOException("Pipelined write failed", failure);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        put(END);
+        try {
+            consumer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+        checkFailure();
+    }
+}
@@ -0,0 +1,182 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.tutorials.csv.importer;
+
+import com.google.auto.service.AutoService;
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.commons.datasource.DirectoryDataSource;
+import com.powsybl.commons.datasource.ReadOnlyDataSource;
+import com.powsybl.iidm.network.Importer;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.NetworkFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+
+/**
+ * Imports the columnar binary lines files written by the binary lines exporter of the
+ * csv-exporter tutorial. The network is the same as the one the CSV importer builds from
+ * the CSV export of the same lines.
+ * <p>
+ * Files of a plain directory data source are memory-mapped and the columns are read in place,
+ * other data sources are read into a heap buffer first.
+ *
+ * @author agent <agent at local>
+ */
+@AutoService(Importer.class)
+public class BinaryLinesImporter implements Importer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BinaryLinesImporter.class);
+
+    public static final String EXTENSION = "lbin";
+
+    /**
+     * Magic number and format version of the file header, shared with the binary lines exporter.
+     */
+    public static final int MAGIC = 0x4C42494E; // "LBIN"
+
+    public static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 4 * Integer.BYTES;
+
+    private static final int DOUBLE_COLUMNS = 6;
+
+    private static final int ID_COLUMNS = 7;
+
+    @Override
+    public String getFormat() {
+        return "BIN_LINES";
+    }
+
+    @Override
+    public String getComment() {
+        return "Columnar binary lines importer";
+    }
+
+    @Override
+    public boolean exists(ReadOnlyDataSource dataSource) {
+        try {
+            return dataSource.exists(null, EXTENSION);
+        } catch (IOException e) {
+            LOGGER.error(e.toString(), e);
+            return false;
+        }
+    }
+
+    @Override
+    public Network importData(ReadOnlyDataSource dataSource, NetworkFactory networkFactory, Properties parameters) {
+        Network network = networkFactory.createNetwork("Network_2Lines_Example", EXTENSION);
+        LOGGER.debug("Start import from file {}", dataSource.getBaseName());
+        ByteBuffer buffer = load(dataSource);
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != VERSION) {
+            throw new PowsyblException("Not a binary lines file, or unsupported version");
+        }
+        int rowCount = buffer.getInt(2 * Integer.BYTES);
+        int dictionarySize = buffer.getInt(3 * Integer.BYTES);
+        if (rowCount < 0 || dictionarySize < 0) {
+            throw new PowsyblException("Corrupted binary lines file: " + rowCount + " rows, " + dictionarySize + " ids");
+        }
+        // In long, as the offsets of a too large or corrupted file do not fit in an int
+        long idsEnd = HEADER_SIZE + (long) DOUBLE_COLUMNS * rowCount * Double.BYTES;
+        long dictionaryEnd = idsEnd + (long) ID_COLUMNS * rowCount * Integer.BYTES;
+        if (dictionaryEnd > buffer.capacity()) {
+            throw new PowsyblException("Truncated binary lines file: " + rowCount + " rows need at least "
+                + dictionaryEnd + " bytes, the file has " + buffer.capacity());
+        }
+        int idsOffset = (int) idsEnd;
+        int dictionaryOffset = (int) dictionaryEnd;
+        DoubleBuffer values = buffer.slice(HEADER_SIZE, idsOffset - HEADER_SIZE).asDoubleBuffer();
+        IntBuffer ids = buffer.slice(idsOffset, dictionaryOffset - idsOffset).asIntBuffer();
+        String[] dictionary = readDictionary(buffer, dictionaryOffset, dictionarySize);
+
+        CsvImportMetrics metrics = new CsvImportMetrics();
+        metrics.setBytesRead(buffer.capacity());
+        NetworkContainerCache cache = new NetworkContainerCache(network);
+        for (int row = 0; row < rowCount; row++) {
+            CsvLineRecord rec = new CsvLineRecord(getId(dictionary, ids, row),
+                                                  getId(dictionary, ids, rowCount + row), getId(dictionary, ids, 2 * rowCount + row),
+                                                  getId(dictionary, ids, 3 * rowCount + row), getId(dictionary, ids, 4 * rowCount + row),
+                                                  getId(dictionary, ids, 5 * rowCount + row), getId(dictionary, ids, 6 * rowCount + row),
+                                                  values.get(row),
+                                                  values.get(rowCount + row),
+                                                  values.get(2 * rowCount + row),
+                                                  values.get(3 * rowCount + row),
+                                                  values.get(4 * rowCount + row),
+                                                  values.get(5 * rowCount + row));
+            CsvLinesImporter.createLine(network, cache, rec, metrics);
+        }
+        cache.logStatistics();
+        LOGGER.info("{} import done: {}", EXTENSION, metrics);
+        return network;
+    }
+
+    private static String getId(String[] dictionary, IntBuffer ids, int index) {
+        int id = ids.get(index);
+        if (id < 0 || id >= dictionary.length) {
+            throw new PowsyblException("Corrupted binary lines file: id index " + id + " out of a dictionary of " + dictionary.length);
+        }
+        return dictionary[id];
+    }
+
+    private static ByteBuffer load(ReadOnlyDataSource dataSource) {
+        try {
+            if (dataSource.getClass() == DirectoryDataSource.class) {
+                Path file = ((DirectoryDataSource) dataSource).getDirectory().resolve(dataSource.getBaseName() + "." + EXTENSION);
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    checkSize(channel.size());
+                    // The mapping stays valid after the channel is closed
+                    return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                }
+            }
+            try (InputStream is = dataSource.newInputStream(null, EXTENSION)) {
+                return ByteBuffer.wrap(is.readAllBytes());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * A file is read through a single buffer, which is limited to 2 GB.
+     */
+    private static void checkSize(long size) {
+        if (size > Integer.MAX_VALUE) {
+            throw new PowsyblException("Binary lines file too large: " + size + " bytes, at most " + Integer.MAX_VALUE + " are supported");
+        }
+    }
+
+    private static String[] readDictionary(ByteBuffer buffer, int offset, int size) {
+        String[] dictionary = new String[size];
+        int position = offset;
+        for (int i = 0; i < size; i++) {
+            if (position > buffer.capacity() - Integer.BYTES) {
+                throw new PowsyblException("Truncated binary lines file: " + (size - i) + " ids missing");
+            }
+            int length = buffer.getInt(position);
+            position += Integer.BYTES;
+            if (length < 0 || length > buffer.capacity() - position) {
+                throw new PowsyblException("Corrupted binary lines file: invalid length " + length + " of id " + i);
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(position, bytes);
+            position += length;
+            dictionary[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return dictionary;
+    }
+}
@@ -0,0 +1,28 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.tutorials.csv.importer;
+
+/**
+ * Receives the progress of the CSV imports. Implementations declared with
+ * {@code @AutoService(CsvImportListener.class)} are picked up by the importer.
+ *
+ * @author agent <agent at local>
+ */
+public interface CsvImportListener {
+
+    /**
+     * Called at most once per progress interval while lines are being created.
+     */
+    default void onProgress(CsvImportMetrics metrics) {
+    }
+
+    /**
+     * Called once, when the import is done.
+     */
+    default void onImportDone(CsvImportMetrics metrics) {
+    }
+}
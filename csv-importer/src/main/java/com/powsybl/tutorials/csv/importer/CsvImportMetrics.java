@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.tutorials.csv.importer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counters and per-phase timings of a CSV import. Phases are parsing, creation of the substations,
+ * voltage levels and buses, and creation of the lines. An instance is only updated from the thread
+ * that builds the network.
+ *
+ * @author agent <agent at local>
+ */
+public final class CsvImportMetrics {
+
+    private final long startNanos = System.nanoTime();
+
+    private long rowCount;
+
+    private long bytesRead;
+
+    private long parseNanos;
+
+    private long containerCreationNanos;
+
+    private long lineCreationNanos;
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public long getParseTime(TimeUnit unit) {
+        return unit.convert(parseNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public long getContainerCreationTime(TimeUnit unit) {
+        return unit.convert(containerCreationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public long getLineCreationTime(TimeUnit unit) {
+        return unit.convert(lineCreationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public long getElapsedTime(TimeUnit unit) {
+        return unit.convert(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public double getRowsPerSecond() {
+        long elapsedNanos = System.nanoTime() - startNanos;
+        return elapsedNanos == 0 ? 0 : rowCount * 1e9 / elapsedNanos;
+    }
+
+    long getCreationNanos() {
+        return containerCreationNanos + lineCreationNanos;
+    }
+
+    void setBytesRead(long bytesRead) {
+        this.bytesRead = bytesRead;
+    }
+
+    void addParseNanos(long nanos) {
+        parseNanos += nanos;
+    }
+
+    void addContainerCreationNanos(long nanos) {
+        containerCreationNanos += nanos;
+    }
+
+    void lineCreated(long containerNanos, long lineNanos) {
+        rowCount++;
+        containerCreationNanos += containerNanos;
+        lineCreationNanos += lineNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d rows, %d bytes read in %d ms (%.0f rows/s): parse %d ms, containers %d ms, lines %d ms",
+                rowCount, bytesRead, getElapsedTime(TimeUnit.MILLISECONDS), getRowsPerSecond(),
+                getParseTime(TimeUnit.MILLISECONDS), getContainerCreationTime(TimeUnit.MILLISECONDS),
+                getLineCreationTime(TimeUnit.MILLISECONDS));
+    }
+}
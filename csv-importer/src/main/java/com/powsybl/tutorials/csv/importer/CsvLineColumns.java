@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.tutorials.csv.importer;
+
+import com.powsybl.iidm.network.Network;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Column storage of the parsed lines: electrical parameters in {@code double} arrays and ids in
+ * {@code String} arrays. Ids are interned, so the many rows sharing a substation, voltage level or
+ * bus reference a single string instance.
+ *
+ * @author agent <agent at local>
+ */
+final class CsvLineColumns {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final Map<String, String> interned = new HashMap<>();
+
+    private int size = 0;
+
+    private String[] ids = new String[INITIAL_CAPACITY];
+    private String[] substationIds1 = new String[INITIAL_CAPACITY];
+    private String[] substationIds2 = new String[INITIAL_CAPACITY];
+    private String[] voltageLevelIds1 = new String[INITIAL_CAPACITY];
+    private String[] voltageLevelIds2 = new String[INITIAL_CAPACITY];
+    private String[] busIds1 = new String[INITIAL_CAPACITY];
+    private String[] busIds2 = new String[INITIAL_CAPACITY];
+    private double[] r = new double[INITIAL_CAPACITY];
+    private double[] x = new double[INITIAL_CAPACITY];
+    private double[] g1 = new double[INITIAL_CAPACITY];
+    private double[] b1 = new double[INITIAL_CAPACITY];
+    private double[] g2 = new double[INITIAL_CAPACITY];
+    private double[] b2 = new double[INITIAL_CAPACITY];
+
+    void add(CsvLineRecord rec) {
+        if (size == ids.length) {
+            grow();
+        }
+        ids[size] = rec.id();
+        substationIds1[size] = intern(rec.substationId1());
+        substationIds2[size] = intern(rec.substationId2());
+        voltageLevelIds1[size] = intern(rec.voltageLevelId1());
+        voltageLevelIds2[size] = intern(rec.voltageLevelId2());
+        busIds1[size] = intern(rec.busId1());
+        busIds2[size] = intern(rec.busId2());
+        r[size] = rec.r();
+        x[size] = rec.x();
+        g1[size] = rec.g1();
+        b1[size] = rec.b1();
+        g2[size] = rec.g2();
+        b2[size] = rec.b2();
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    CsvLineRecord get(int i) {
+        return new CsvLineRecord(ids[i], substationIds1[i], substationIds2[i], voltageLevelIds1[i], voltageLevelIds2[i],
+                                 busIds1[i], busIds2[i], r[i], x[i], g1[i], b1[i], g2[i], b2[i]);
+    }
+
+    void forEach(Consumer<CsvLineRecord> consumer) {
+        for (int i = 0; i < size; i++) {
+            consumer.accept(get(i));
+        }
+    }
+
+    /**
+     * Check all the rows in a single pass, before any line is created.
+     *
+     * @return the errors found, at most {@value #MAX_REPORTED_ERRORS} of them, plus a summary line if there were more
+     */
+    List<String> validate(Network network) {
+        List<String> errors = new ArrayList<>();
+        int errorCount = 0;
+        Set<String> seenIds = new HashSet<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            String error = validate(network, i, seenIds);
+            if (error != null) {
+                errorCount++;
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add("Row " + (i + 1) + " (line '" + ids[i] + "'): " + error);
+                }
+            }
+        }
+        if (errorCount > errors.size()) {
+            errors.add((errorCount - errors.size()) + " more errors");
+        }
+        return errors;
+    }
+
+    private String validate(Network network, int i, Set<String> seenIds) {
+        if (ids[i].isEmpty()) {
+            return "empty id";
+        }
+        if (!seenIds.add(ids[i]) || network.getIdentifiable(ids[i]) != null) {
+            return "duplicate id";
+        }
+        if (busIds1[i].isEmpty() || busIds2[i].isEmpty()) {
+            return "missing bus id";
+        }
+        if (!Double.isFinite(r[i]) || !Double.isFinite(x[i])) {
+            return "r and x must be defined";
+        }
+        if (!Double.isFinite(g1[i]) || !Double.isFinite(b1[i]) || !Double.isFinite(g2[i]) || !Double.isFinite(b2[i])) {
+            return "g1, b1, g2 and b2 must be defined";
+        }
+        return null;
+    }
+
+    private String intern(String s) {
+        String previous = interned.putIfAbsent(s, s);
+        return previous != null ? previous : s;
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        substationIds1 = Arrays.copyOf(substationIds1, capacity);
+        substationIds2 = Arrays.copyOf(substationIds2, capacity);
+        voltageLevelIds1 = Arrays.copyOf(voltageLevelIds1, capacity);
+        voltageLevelIds2 = Arrays.copyOf(voltageLevelIds2, capacity);
+        busIds1 = Arrays.copyOf(busIds1, capacity);
+        busIds2 = Arrays.copyOf(busIds2, capacity);
+        r = Arrays.copyOf(r, capacity);
+        x = Arrays.copyOf(x, capacity);
+        g1 = Arrays.copyOf(g1, capacity);
+        b1 = Arrays.copyOf(b1, capacity);
+        g2 = Arrays.copyOf(g2, capacity);
+        b2 = Arrays.copyOf(b2, capacity);
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.tutorials.csv.importer;
+
+import com.powsybl.commons.PowsyblException;
+import de.siegmar.fastcsv.reader.CsvRecord;
+
+import java.util.List;
+
+/**
+ * A parsed row of the lines CSV file. Parsing is independent of the network,
+ * so records can be built on any thread and applied later on a single one.
+ *
+ * @author agent <agent at local>
+ */
+record CsvLineRecord(String id,
+                     String substationId1, String substationId2,
+                     String voltageLevelId1, String voltageLevelId2,
+                     String busId1, String busId2,
+                     double r, double x, double g1, double b1, double g2, double b2) {
+
+    static final List<String> COLUMNS = List.of("LineId", "SubstationId1", "SubstationId2", "VoltageLevelId1", "VoltageLevelId2",
+                                                "BusId1", "BusId2", "R", "X", "G1", "B1", "G2", "B2");
+
+    private static final String INVALID_VALUE = "N/A";
+
+    /**
+     * Position of each of the {@link #COLUMNS} in a given header row.
+     */
+    record Header(int[] indexes) {
+
+        /**
+         * The header of a plain lines file. A delta file is rejected, as its rows are not all lines to create.
+         */
+        static Header of(CsvRecord headerRecord) {
+            if (headerRecord.getFields().contains(CsvLinesFiles.OPERATION_COLUMN)) {
+                throw new PowsyblException("Column '" + CsvLinesFiles.OPERATION_COLUMN
+                    + "' found in CSV header: a delta CSV file must be applied to a network, not imported");
+            }
+            return ofColumns(headerRecord);
+        }
+
+        /**
+         * The header of a delta file, which also has the {@value CsvLinesFiles#OPERATION_COLUMN} column.
+         */
+        static Header ofDelta(CsvRecord headerRecord) {
+            if (!headerRecord.getFields().contains(CsvLinesFiles.OPERATION_COLUMN)) {
+                throw new PowsyblException("Column '" + CsvLinesFiles.OPERATION_COLUMN + "' not found: not a delta CSV file");
+            }
+            return ofColumns(headerRecord);
+        }
+
+        private static Header ofColumns(CsvRecord headerRecord) {
+            List<String> fields = headerRecord.getFields();
+            int[] indexes = new int[COLUMNS.size()];
+            for (int i = 0; i < indexes.length; i++) {
+                indexes[i] = fields.indexOf(COLUMNS.get(i));
+                if (indexes[i] < 0) {
+                    throw new PowsyblException("Column '" + COLUMNS.get(i) + "' not found in CSV header");
+                }
+            }
+            return new Header(indexes);
+        }
+    }
+
+    /**
+     * Parse a row. An invalid number is reported as a {@link PowsyblException} naming the line, whichever
+     * reader parses the row.
+     */
+    static CsvLineRecord parse(CsvRecord rec, Header header) {
+        int[] i = header.indexes();
+        try {
+            return new CsvLineRecord(rec.getField(i[0]),
+                                     rec.getField(i[1]), rec.getField(i[2]),
+                                     rec.getField(i[3]), rec.getField(i[4]),
+                                     rec.getField(i[5]), rec.getField(i[6]),
+                                     parseDouble(rec.getField(i[7])),
+                                     parseDouble(rec.getField(i[8])),
+                                     parseDouble(rec.getField(i[9])),
+                                     parseDouble(rec.getField(i[10])),
+                                     parseDouble(rec.getField(i[11])),
+                                     parseDouble(rec.getField(i[12])));
+        } catch (NumberFormatException e) {
+            throw new PowsyblException("Invalid number in CSV row of line '" + rec.getField(i[0]) + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Parse a number, the exporter writes {@code N/A} for undefined values.
+     */
+    private static double parseDouble(String field) {
+        return INVALID_VALUE.equals(field) ? Double.NaN : Double.parseDouble(field);
+    }
+}
@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.tutorials.csv.importer;
+
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.iidm.network.Bus;
+import com.powsybl.iidm.network.Line;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.Terminal;
+import de.siegmar.fastcsv.reader.CsvReader;
+import de.siegmar.fastcsv.reader.CsvRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+/**
+ * Applies a delta CSV file, as written by the exporter in delta mode, to an existing network.
+ * Each row has an {@code Operation} column: {@code ADD} creates the line, {@code REMOVE} removes it
+ * and {@code MODIFY} updates its parameters and connections in place. A modified line that moved
+ * to another voltage level is removed and created again.
+ *
+ * @author agent <agent at local>
+ */
+final class CsvLinesDeltaApplier {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CsvLinesDeltaApplier.class);
+
+    static void apply(Network network, InputStream inputStream) throws IOException {
+        CsvImportMetrics metrics = new CsvImportMetrics();
+        NetworkContainerCache cache = new NetworkContainerCache(network);
+        int added = 0;
+        int removed = 0;
+        int modified = 0;
+        try (CsvReader<CsvRecord> csvReader = CsvReader.builder()
+                 .fieldSeparator(",")
+                 .quoteCharacter('"')
+                 .ofCsvRecord(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            Iterator<CsvRecord> it = csvReader.iterator();
+            if (!it.hasNext()) {
+                return;
+            }
+            CsvRecord headerRecord = it.next();
+            CsvLineRecord.Header header = CsvLineRecord.Header.ofDelta(headerRecord);
+            int operationIndex = headerRecord.getFields().indexOf(CsvLinesFiles.OPERATION_COLUMN);
+            while (it.hasNext()) {
+                CsvRecord rec = it.next();
+                CsvLineRecord line = CsvLineRecord.parse(rec, header);
+                String operation = rec.getField(operationIndex);
+                switch (operation) {
+                    case "ADD" -> {
+                        CsvLinesImporter.createLine(network, cache, line, metrics);
+                        added++;
+                    }
+                    case "REMOVE" -> {
+                        getLine(network, line.id()).remove();
+                        removed++;
+                    }
+                    case "MODIFY" -> {
+                        modify(network, cache, line, metrics);
+                        modified++;
+                    }
+                    default -> throw new PowsyblException("Unknown operation '" + operation + "' for line " + line.id());
+                }
+            }
+        }
+        cache.logStatistics();
+        LOGGER.info("Delta applied: {} lines added, {} removed, {} modified", added, removed, modified);
+    }
+
+    private static Line getLine(Network network, String id) {
+        Line line = network.getLine(id);
+        if (line == null) {
+            throw new PowsyblException("Line '" + id + "' not found");
+        }
+        return line;
+    }
+
+    private static void modify(Network network, NetworkContainerCache cache, CsvLineRecord rec, CsvImportMetrics metrics) {
+        Line line = getLine(network, rec.id());
+        if (!line.getTerminal1().getVoltageLevel().getId().equals(rec.voltageLevelId1())
+                || !line.getTerminal2().getVoltageLevel().getId().equals(rec.voltageLevelId2())) {
+            line.remove();
+            CsvLinesImporter.createLine(network, cache, rec, metrics);
+            return;
+        }
+        line.setR(rec.r())
+            .setX(rec.x())
+            .setG1(rec.g1())
+            .setB1(rec.b1())
+            .setG2(rec.g2())
+            .setB2(rec.b2());
+        reconnect(cache, line.getTerminal1(), rec.busId1());
+        reconnect(cache, line.getTerminal2(), rec.busId2());
+    }
+
+    /**
+     * An empty bus id means that the terminal is disconnected.
+     */
+    private static void reconnect(NetworkContainerCache cache, Terminal terminal, String busId) {
+        Bus bus = terminal.getBusBreakerView().getBus();
+        String currentBusId = bus != null ? bus.getId() : "";
+        if (currentBusId.equals(busId)) {
+            return;
+        }
+        terminal.disconnect();
+        if (!busId.isEmpty()) {
+            cache.getBus(terminal.getVoltageLevel(), busId);
+            terminal.getBusBreakerView().setConnectableBus(busId);
+            terminal.connect();
+        }
+    }
+
+    private CsvLinesDeltaApplier() {
+    }
+}
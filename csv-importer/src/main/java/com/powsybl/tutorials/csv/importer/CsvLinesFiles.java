@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.tutorials.csv.importer;
+
+import com.powsybl.commons.datasource.ReadOnlyDataSource;
+import org.apache.commons.compress.compressors.CompressorException;
+import org.apache.commons.compress.compressors.CompressorStreamFactory;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Locates the lines CSV files of a data source. The lines may be in a single file or split into
+ * {@code _part<i>} files, and each file may be compressed, as written by the CSV exporter. The CSV
+ * exporter also reads its previous exports through this class, when it writes a delta.
+ *
+ * @author agent <agent at local>
+ */
+public final class CsvLinesFiles {
+
+    /**
+     * Column of the delta files telling how to apply each row, which the plain lines files do not have.
+     */
+    public static final String OPERATION_COLUMN = "Operation";
+
+    private static final String PART_SUFFIX = "_part";
+
+    private static final List<String> EXTENSIONS = List.of("csv", "csv.gz", "csv.bz2", "csv.xz", "csv.zst");
+
+    public record Entry(String suffix, String extension) {
+    }
+
+    /**
+     * @return the entries to read, in order, or an empty list if there is no lines file
+     */
+    public static List<Entry> find(ReadOnlyDataSource dataSource) throws IOException {
+        Entry single = find(dataSource, null);
+        if (single != null) {
+            return List.of(single);
+        }
+        List<Entry> parts = new ArrayList<>();
+        Entry part;
+        while ((part = find(dataSource, PART_SUFFIX + parts.size())) != null) {
+            parts.add(part);
+        }
+        return parts;
+    }
+
+    private static Entry find(ReadOnlyDataSource dataSource, String suffix) throws IOException {
+        for (String extension : EXTENSIONS) {
+            if (dataSource.exists(suffix, extension)) {
+                return new Entry(suffix, extension);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Open an entry, decompressing it if its content starts with a known compression signature.
+     */
+    public static InputStream open(ReadOnlyDataSource dataSource, Entry entry) throws IOException {
+        InputStream is = new BufferedInputStream(dataSource.newInputStream(entry.suffix(), entry.extension()));
+        try {
+            String compressorName = CompressorStreamFactory.detect(is);
+            return CompressorStreamFactory.getSingleton().createCompressorInputStream(compressorName, is);
+        } catch (CompressorException e) {
+            // Not compressed, or already decompressed by the data source
+            return is;
+        }
+    }
+
+    private CsvLinesFiles() {
+    }
+}
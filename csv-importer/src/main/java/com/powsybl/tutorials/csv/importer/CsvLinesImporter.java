@@ -7,7 +7,13 @@
 package com.powsybl.tutorials.csv.importer;
 
 import com.google.auto.service.AutoService;
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.commons.config.PlatformConfig;
 import com.powsybl.commons.datasource.ReadOnlyDataSource;
+import com.powsybl.commons.parameters.Parameter;
+import com.powsybl.commons.parameters.ParameterDefaultValueConfig;
+import com.powsybl.commons.parameters.ParameterType;
+import com.powsybl.commons.util.ServiceLoaderCache;
 import com.powsybl.iidm.network.Bus;
 import com.powsybl.iidm.network.Country;
 import com.powsybl.iidm.network.Importer;
@@ -16,15 +22,16 @@ import com.powsybl.iidm.network.NetworkFactory;
 import com.powsybl.iidm.network.Substation;
 import com.powsybl.iidm.network.TopologyKind;
 import com.powsybl.iidm.network.VoltageLevel;
-import de.siegmar.fastcsv.reader.CsvReader;
-import de.siegmar.fastcsv.reader.NamedCsvRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Miora Ralambotiana <miora.ralambotiana at rte-france.com>
@@ -36,9 +43,58 @@ public class CsvLinesImporter implements Importer {
 
     private static final String EXTENSION = "csv";
 
+    private static final String FORMAT = "CSV";
+
+    public static final String PARALLEL = "csv.import.parallel";
+
+    public static final String PARALLELISM = "csv.import.parallelism";
+
+    public static final String TWO_PASS = "csv.import.two-pass";
+
+    public static final String BULK = "csv.import.bulk";
+
+    public static final String PROGRESS_INTERVAL = "csv.import.progress-interval";
+
+    private static final Parameter PARALLEL_PARAMETER = new Parameter(PARALLEL, ParameterType.BOOLEAN,
+            "Parse the file in chunks on a fork-join pool", Boolean.FALSE);
+
+    private static final Parameter PARALLELISM_PARAMETER = new Parameter(PARALLELISM, ParameterType.INTEGER,
+            "Number of parsing threads in parallel mode", Runtime.getRuntime().availableProcessors());
+
+    private static final Parameter TWO_PASS_PARAMETER = new Parameter(TWO_PASS, ParameterType.BOOLEAN,
+            "Create all substations, voltage levels and buses before adding the lines", Boolean.FALSE);
+
+    private static final Parameter BULK_PARAMETER = new Parameter(BULK, ParameterType.BOOLEAN,
+            "Load all rows first, validate them in a single pass reporting every error, then create the lines", Boolean.FALSE);
+
+    private static final Parameter PROGRESS_INTERVAL_PARAMETER = new Parameter(PROGRESS_INTERVAL, ParameterType.INTEGER,
+            "Minimum number of seconds between two progress notifications of the import listeners", 5);
+
+    private final ParameterDefaultValueConfig defaultValueConfig;
+
+    private final List<CsvImportListener> listeners;
+
+    public CsvLinesImporter() {
+        this(PlatformConfig.defaultConfig());
+    }
+
+    public CsvLinesImporter(PlatformConfig platformConfig) {
+        this(platformConfig, new ServiceLoaderCache<>(CsvImportListener.class).getServices());
+    }
+
+    public CsvLinesImporter(PlatformConfig platformConfig, List<CsvImportListener> listeners) {
+        defaultValueConfig = new ParameterDefaultValueConfig(Objects.requireNonNull(platformConfig));
+        this.listeners = List.copyOf(listeners);
+    }
+
     @Override
     public String getFormat() {
-        return "CSV";
+        return FORMAT;
+    }
+
+    @Override
+    public List<Parameter> getParameters() {
+        return List.of(PARALLEL_PARAMETER, PARALLELISM_PARAMETER, TWO_PASS_PARAMETER, BULK_PARAMETER, PROGRESS_INTERVAL_PARAMETER);
     }
 
     @Override
@@ -49,7 +105,7 @@ public class CsvLinesImporter implements Importer {
     @Override
     public boolean exists(ReadOnlyDataSource dataSource) {
         try {
-            return dataSource.exists(null, EXTENSION);
+            return !CsvLinesFiles.find(dataSource).isEmpty();
         } catch (IOException e) {
             LOGGER.error(e.toString(), e);
             return false;
@@ -60,37 +116,62 @@ public class CsvLinesImporter implements Importer {
     public Network importData(ReadOnlyDataSource dataSource, NetworkFactory networkFactory, Properties parameters) {
         Network network = networkFactory.createNetwork("Network_2Lines_Example", EXTENSION);
         LOGGER.debug("Start import from file {}", dataSource.getBaseName());
-        try (InputStream inputStream = dataSource.newInputStream(null, EXTENSION);
-             CsvReader<NamedCsvRecord> csvReader = CsvReader.builder()
-                 .fieldSeparator(",")
-                 .quoteCharacter('"')
-                 .ofNamedCsvRecord(inputStream)) {
-            csvReader.forEach(rec -> {
-                String id = rec.getField("LineId");
-                LOGGER.info("import lineID {}", id);
-                Substation s1 = getSubstation(rec.getField("SubstationId1"), network, Country.FR);
-                Substation s2 = getSubstation(rec.getField("SubstationId2"), network, Country.BE);
-                VoltageLevel vl1 = getVoltageLevel(rec.getField("VoltageLevelId1"), network, s1, 220, TopologyKind.BUS_BREAKER);
-                VoltageLevel vl2 = getVoltageLevel(rec.getField("VoltageLevelId2"), network, s2, 220, TopologyKind.BUS_BREAKER);
-                Bus nhv1 = getBus(vl1, rec.getField("BusId1"));
-                Bus nhv2 = getBus(vl2, rec.getField("BusId2"));
-                network.newLine()
-                    .setId(id)
-                    .setVoltageLevel1(vl1.getId())
-                    .setVoltageLevel2(vl2.getId())
-                    .setBus1(nhv1.getId())
-                    .setConnectableBus1(nhv1.getId())
-                    .setBus2(nhv2.getId())
-                    .setConnectableBus2(nhv2.getId())
-                    .setR(Double.parseDouble(rec.getField("R")))
-                    .setX(Double.parseDouble(rec.getField("X")))
-                    .setG1(Double.parseDouble(rec.getField("G1")))
-                    .setB1(Double.parseDouble(rec.getField("B1")))
-                    .setG2(Double.parseDouble(rec.getField("G2")))
-                    .setB2(Double.parseDouble(rec.getField("B2")))
-                    .add();
-            });
-            LOGGER.debug("{} import done", EXTENSION);
+        boolean parallel = Parameter.readBoolean(FORMAT, parameters, PARALLEL_PARAMETER, defaultValueConfig);
+        boolean twoPass = Parameter.readBoolean(FORMAT, parameters, TWO_PASS_PARAMETER, defaultValueConfig);
+        boolean bulk = Parameter.readBoolean(FORMAT, parameters, BULK_PARAMETER, defaultValueConfig);
+        int progressInterval = Parameter.readInteger(FORMAT, parameters, PROGRESS_INTERVAL_PARAMETER, defaultValueConfig);
+        ImportProgress progress = new ImportProgress(new CsvImportMetrics(), listeners, progressInterval, TimeUnit.SECONDS);
+        CsvImportMetrics metrics = progress.getMetrics();
+        NetworkContainerCache cache = new NetworkContainerCache(network);
+        try {
+            List<CsvLinesFiles.Entry> entries = CsvLinesFiles.find(dataSource);
+            if (entries.isEmpty()) {
+                throw new PowsyblException("No lines CSV file found for " + dataSource.getBaseName());
+            }
+            if (parallel || twoPass || bulk) {
+                int parallelism = Math.max(1, Parameter.readInteger(FORMAT, parameters, PARALLELISM_PARAMETER, defaultValueConfig));
+                CsvLineColumns records = new CsvLineColumns();
+                long parseStart = System.nanoTime();
+                for (CsvLinesFiles.Entry entry : entries) {
+                    try (InputStream inputStream = progress.track(CsvLinesFiles.open(dataSource, entry))) {
+                        if (parallel) {
+                            // Parsing is spread over the pool, but the network is only modified from this thread
+                            CsvLinesReader.readParallel(inputStream, parallelism).forEach(records::add);
+                        } else {
+                            CsvLinesReader.read(inputStream, records::add);
+                        }
+                    }
+                }
+                metrics.addParseNanos(System.nanoTime() - parseStart);
+                if (bulk) {
+                    validate(network, records);
+                }
+                if (twoPass) {
+                    long start = System.nanoTime();
+                    records.forEach(rec -> createContainers(cache, rec));
+                    metrics.addContainerCreationNanos(System.nanoTime() - start);
+                }
+                records.forEach(rec -> {
+                    createLine(network, cache, rec, metrics);
+                    progress.check();
+                });
+            } else {
+                for (CsvLinesFiles.Entry entry : entries) {
+                    try (InputStream inputStream = progress.track(CsvLinesFiles.open(dataSource, entry))) {
+                        // Parsing and creation are interleaved: parse time is what is not spent creating
+                        long start = System.nanoTime();
+                        long creationNanos = metrics.getCreationNanos();
+                        CsvLinesReader.read(inputStream, rec -> {
+                            createLine(network, cache, rec, metrics);
+                            progress.check();
+                        });
+                        metrics.addParseNanos(System.nanoTime() - start - (metrics.getCreationNanos() - creationNanos));
+                    }
+                }
+            }
+            progress.done();
+            cache.logStatistics();
+            LOGGER.info("{} import done: {}", EXTENSION, metrics);
 
         } catch (IOException ioException) {
             throw new UncheckedIOException(ioException);
@@ -98,36 +179,72 @@ public class CsvLinesImporter implements Importer {
         return network;
     }
 
-    private static Substation getSubstation(String id, Network network, Country country) {
-        Substation substation = network.getSubstation(id);
-        if (substation == null) {
-            substation = network.newSubstation()
-                    .setId(id)
-                    .setCountry(country)
-                    .add();
+    /**
+     * Patch an existing network in place with a delta CSV file written by the exporter in delta mode,
+     * instead of building a new network.
+     *
+     * @param network    the network to update
+     * @param dataSource data source of the delta file
+     */
+    public void applyDelta(Network network, ReadOnlyDataSource dataSource) {
+        Objects.requireNonNull(network);
+        Objects.requireNonNull(dataSource);
+        LOGGER.debug("Start applying delta from file {}", dataSource.getBaseName());
+        try {
+            List<CsvLinesFiles.Entry> entries = CsvLinesFiles.find(dataSource);
+            if (entries.isEmpty()) {
+                throw new PowsyblException("No lines CSV file found for " + dataSource.getBaseName());
+            }
+            for (CsvLinesFiles.Entry entry : entries) {
+                try (InputStream inputStream = CsvLinesFiles.open(dataSource, entry)) {
+                    CsvLinesDeltaApplier.apply(network, inputStream);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        return substation;
     }
 
-    private static VoltageLevel getVoltageLevel(String id, Network network, Substation s, double nominalVoltage, TopologyKind topologyKind) {
-        VoltageLevel voltageLevel = network.getVoltageLevel(id);
-        if (voltageLevel == null) {
-            voltageLevel = s.newVoltageLevel()
-                    .setId(id)
-                    .setNominalV(nominalVoltage)
-                    .setTopologyKind(topologyKind)
-                    .add();
+    private static void validate(Network network, CsvLineColumns records) {
+        List<String> errors = records.validate(network);
+        if (!errors.isEmpty()) {
+            throw new PowsyblException("Invalid CSV lines file:" + System.lineSeparator()
+                    + String.join(System.lineSeparator(), errors));
         }
-        return voltageLevel;
+        LOGGER.debug("{} rows validated", records.size());
     }
 
-    private static Bus getBus(VoltageLevel vl, String id) {
-        Bus bus = vl.getBusBreakerView().getBus(id);
-        if (bus == null) {
-            bus = vl.getBusBreakerView().newBus()
-                    .setId(id)
-                    .add();
-        }
-        return bus;
+    private static void createContainers(NetworkContainerCache cache, CsvLineRecord rec) {
+        Substation s1 = cache.getSubstation(rec.substationId1(), Country.FR);
+        Substation s2 = cache.getSubstation(rec.substationId2(), Country.BE);
+        cache.getBus(cache.getVoltageLevel(rec.voltageLevelId1(), s1, 220, TopologyKind.BUS_BREAKER), rec.busId1());
+        cache.getBus(cache.getVoltageLevel(rec.voltageLevelId2(), s2, 220, TopologyKind.BUS_BREAKER), rec.busId2());
+    }
+
+    static void createLine(Network network, NetworkContainerCache cache, CsvLineRecord rec, CsvImportMetrics metrics) {
+        long start = System.nanoTime();
+        Substation s1 = cache.getSubstation(rec.substationId1(), Country.FR);
+        Substation s2 = cache.getSubstation(rec.substationId2(), Country.BE);
+        VoltageLevel vl1 = cache.getVoltageLevel(rec.voltageLevelId1(), s1, 220, TopologyKind.BUS_BREAKER);
+        VoltageLevel vl2 = cache.getVoltageLevel(rec.voltageLevelId2(), s2, 220, TopologyKind.BUS_BREAKER);
+        Bus nhv1 = cache.getBus(vl1, rec.busId1());
+        Bus nhv2 = cache.getBus(vl2, rec.busId2());
+        long containersDone = System.nanoTime();
+        network.newLine()
+            .setId(rec.id())
+            .setVoltageLevel1(vl1.getId())
+            .setVoltageLevel2(vl2.getId())
+            .setBus1(nhv1.getId())
+            .setConnectableBus1(nhv1.getId())
+            .setBus2(nhv2.getId())
+            .setConnectableBus2(nhv2.getId())
+            .setR(rec.r())
+            .setX(rec.x())
+            .setG1(rec.g1())
+            .setB1(rec.b1())
+            .setG2(rec.g2())
+            .setB2(rec.b2())
+            .add();
+        metrics.lineCreated(containersDone - start, System.nanoTime() - containersDone);
     }
 }
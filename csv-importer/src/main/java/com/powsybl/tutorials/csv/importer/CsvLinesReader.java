@@ -0,0 +1,181 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.tutorials.csv.importer;
+
+import de.siegmar.fastcsv.reader.CsvReader;
+import de.siegmar.fastcsv.reader.CsvRecord;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+/**
+ * Reads the lines CSV file into {@link CsvLineRecord}s, either sequentially or by reading the
+ * file in byte chunks cut on row boundaries and parsing the chunks on a fork-join pool.
+ * <p>
+ * The chunked mode assumes that quoted fields never contain line breaks, which holds for
+ * files written by the CSV exporter.
+ *
+ * @author agent <agent at local>
+ */
+final class CsvLinesReader {
+
+    private static final int CHUNK_SIZE = 4 * 1024 * 1024;
+
+    private static CsvReader.CsvReaderBuilder builder() {
+        return CsvReader.builder()
+            .fieldSeparator(",")
+            .quoteCharacter('"');
+    }
+
+    /**
+     * Parse the rows one after the other and hand them to the consumer in file order.
+     */
+    static void read(InputStream inputStream, Consumer<CsvLineRecord> consumer) throws IOException {
+        try (CsvReader<CsvRecord> csvReader = builder().ofCsvRecord(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            Iterator<CsvRecord> it = csvReader.iterator();
+            if (!it.hasNext()) {
+                return;
+            }
+            CsvLineRecord.Header header = CsvLineRecord.Header.of(it.next());
+            while (it.hasNext()) {
+                consumer.accept(CsvLineRecord.parse(it.next(), header));
+            }
+        }
+    }
+
+    /**
+     * Parse the rows in parallel. The returned list is in file order.
+     * <p>
+     * The input is read in chunks of about {@value #CHUNK_SIZE} bytes, cut on row boundaries, and at most
+     * two chunks per thread are held in memory at a time, so the size of the file is not bounded by the
+     * size of an array.
+     */
+    static List<CsvLineRecord> readParallel(InputStream inputStream, int parallelism) throws IOException {
+        ChunkReader chunkReader = new ChunkReader(inputStream);
+        byte[] first = chunkReader.next();
+        if (first == null) {
+            return List.of();
+        }
+        int headerEnd = nextRowStart(first, 0);
+        CsvLineRecord.Header header;
+        try (CsvReader<CsvRecord> csvReader = builder().ofCsvRecord(reader(first, 0, headerEnd))) {
+            header = CsvLineRecord.Header.of(csvReader.iterator().next());
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            Deque<ForkJoinTask<List<CsvLineRecord>>> pending = new ArrayDeque<>();
+            List<CsvLineRecord> records = new ArrayList<>();
+            pending.add(pool.submit(() -> parseChunk(first, headerEnd, first.length, header)));
+            byte[] chunk;
+            while ((chunk = chunkReader.next()) != null) {
+                if (pending.size() >= 2 * parallelism) {
+                    records.addAll(pending.removeFirst().join());
+                }
+                byte[] bytes = chunk;
+                pending.add(pool.submit(() -> parseChunk(bytes, 0, bytes.length, header)));
+            }
+            while (!pending.isEmpty()) {
+                records.addAll(pending.removeFirst().join());
+            }
+            return records;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static int nextRowStart(byte[] bytes, int from) {
+        int i = from;
+        while (i < bytes.length && bytes[i] != '\n') {
+            i++;
+        }
+        return Math.min(bytes.length, i + 1);
+    }
+
+    private static List<CsvLineRecord> parseChunk(byte[] bytes, int start, int end, CsvLineRecord.Header header) {
+        List<CsvLineRecord> records = new ArrayList<>();
+        try (CsvReader<CsvRecord> csvReader = builder().ofCsvRecord(reader(bytes, start, end))) {
+            for (CsvRecord rec : csvReader) {
+                records.add(CsvLineRecord.parse(rec, header));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return records;
+    }
+
+    private static Reader reader(byte[] bytes, int start, int end) {
+        return new InputStreamReader(new ByteArrayInputStream(bytes, start, end - start), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the input in chunks ending just after a line break. The bytes after the last line break of a
+     * chunk are carried over to the next one, and the buffer grows if a single row is larger than it.
+     */
+    private static final class ChunkReader {
+
+        private final InputStream inputStream;
+
+        private byte[] buffer = new byte[CHUNK_SIZE];
+
+        private int carried;
+
+        private ChunkReader(InputStream inputStream) {
+            this.inputStream = inputStream;
+        }
+
+        /**
+         * @return the next chunk, or null at the end of the input
+         */
+        byte[] next() throws IOException {
+            while (true) {
+                int length = carried + inputStream.readNBytes(buffer, carried, buffer.length - carried);
+                if (length == 0) {
+                    return null;
+                }
+                boolean end = length < buffer.length;
+                int cut = end ? length : lastRowEnd(length);
+                if (cut == 0) {
+                    // A row larger than the buffer
+                    carried = length;
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                    continue;
+                }
+                byte[] chunk = Arrays.copyOf(buffer, cut);
+                carried = length - cut;
+                System.arraycopy(buffer, cut, buffer, 0, carried);
+                return chunk;
+            }
+        }
+
+        private int lastRowEnd(int length) {
+            for (int i = length - 1; i >= 0; i--) {
+                if (buffer[i] == '\n') {
+                    return i + 1;
+                }
+            }
+            return 0;
+        }
+    }
+
+    private CsvLinesReader() {
+    }
+}
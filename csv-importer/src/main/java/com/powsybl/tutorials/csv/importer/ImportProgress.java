@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.tutorials.csv.importer;
+
+import com.google.common.io.CountingInputStream;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate-limited progress notification of the import listeners. The clock is only read every
+ * {@value #CHECK_MASK} + 1 rows, so checking the progress costs almost nothing per row.
+ *
+ * @author agent <agent at local>
+ */
+final class ImportProgress {
+
+    private static final int CHECK_MASK = 0x3FF;
+
+    private final CsvImportMetrics metrics;
+
+    private final List<CsvImportListener> listeners;
+
+    private final long intervalNanos;
+
+    private long lastNotificationNanos = System.nanoTime();
+
+    private long bytesOfPreviousInputs;
+
+    private CountingInputStream input;
+
+    ImportProgress(CsvImportMetrics metrics, List<CsvImportListener> listeners, long interval, TimeUnit unit) {
+        this.metrics = metrics;
+        this.listeners = listeners;
+        this.intervalNanos = unit.toNanos(interval);
+    }
+
+    CsvImportMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Count the bytes read from this input, until the next one is set.
+     */
+    InputStream track(InputStream inputStream) {
+        updateBytesRead();
+        if (input != null) {
+            bytesOfPreviousInputs += input.getCount();
+        }
+        input = new CountingInputStream(inputStream);
+        return input;
+    }
+
+    void check() {
+        if (listeners.isEmpty() || (metrics.getRowCount() & CHECK_MASK) != 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (now - lastNotificationNanos >= intervalNanos) {
+            lastNotificationNanos = now;
+            updateBytesRead();
+            listeners.forEach(l -> l.onProgress(metrics));
+        }
+    }
+
+    void done() {
+        updateBytesRead();
+        listeners.forEach(l -> l.onImportDone(metrics));
+    }
+
+    private void updateBytesRead() {
+        metrics.setBytesRead(bytesOfPreviousInputs + (input != null ? input.getCount() : 0));
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.tutorials.csv.importer;
+
+import com.powsybl.iidm.network.Bus;
+import com.powsybl.iidm.network.Country;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.Substation;
+import com.powsybl.iidm.network.TopologyKind;
+import com.powsybl.iidm.network.VoltageLevel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Import-scoped cache of the substations, voltage levels and buses created by the CSV importer.
+ * Many lines share the same endpoints, so most lookups are answered here without going
+ * through the network index. An instance must not outlive the import it was created for.
+ *
+ * @author agent <agent at local>
+ */
+final class NetworkContainerCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NetworkContainerCache.class);
+
+    private final Network network;
+
+    private final Map<String, Substation> substations = new HashMap<>();
+
+    private final Map<String, VoltageLevel> voltageLevels = new HashMap<>();
+
+    private final Map<String, Bus> buses = new HashMap<>();
+
+    private long hits;
+
+    private long misses;
+
+    NetworkContainerCache(Network network) {
+        this.network = Objects.requireNonNull(network);
+    }
+
+    Substation getSubstation(String id, Country country) {
+        Substation substation = substations.get(id);
+        if (substation != null) {
+            hits++;
+            return substation;
+        }
+        misses++;
+        substation = network.getSubstation(id);
+        if (substation == null) {
+            substation = network.newSubstation()
+                    .setId(id)
+                    .setCountry(country)
+                    .add();
+        }
+        substations.put(id, substation);
+        return substation;
+    }
+
+    VoltageLevel getVoltageLevel(String id, Substation s, double nominalVoltage, TopologyKind topologyKind) {
+        VoltageLevel voltageLevel = voltageLevels.get(id);
+        if (voltageLevel != null) {
+            hits++;
+            return voltageLevel;
+        }
+        misses++;
+        voltageLevel = network.getVoltageLevel(id);
+        if (voltageLevel == null) {
+            voltageLevel = s.newVoltageLevel()
+                    .setId(id)
+                    .setNominalV(nominalVoltage)
+                    .setTopologyKind(topologyKind)
+                    .add();
+        }
+        voltageLevels.put(id, voltageLevel);
+        return voltageLevel;
+    }
+
+    Bus getBus(VoltageLevel vl, String id) {
+        // Bus ids are unique in the whole network, so the voltage level is not part of the key
+        Bus bus = buses.get(id);
+        if (bus != null) {
+            hits++;
+            return bus;
+        }
+        misses++;
+        bus = vl.getBusBreakerView().getBus(id);
+        if (bus == null) {
+            bus = vl.getBusBreakerView().newBus()
+                    .setId(id)
+                    .add();
+        }
+        buses.put(id, bus);
+        return bus;
+    }
+
+    void logStatistics() {
+        if (LOGGER.isDebugEnabled()) {
+            long lookups = hits + misses;
+            LOGGER.debug("Container cache: {} lookups, {} hits ({}%), {} substations, {} voltage levels, {} buses",
+                    lookups, hits, lookups == 0 ? 0 : hits * 100 / lookups,
+                    substations.size(), voltageLevels.size(), buses.size());
+        }
+    }
+}
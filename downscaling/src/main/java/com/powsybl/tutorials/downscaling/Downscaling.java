@@ -7,6 +7,7 @@ import com.powsybl.commons.datasource.DataSourceUtil;
 import com.powsybl.iidm.network.Country;
 import com.powsybl.iidm.network.Generator;
 import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.serde.NetworkSerDe;
 import com.powsybl.metrix.commons.ComputationRange;
 import com.powsybl.metrix.commons.data.datatable.DataTableStore;
 import com.powsybl.metrix.commons.data.timeseries.InMemoryTimeSeriesStore;
@@ -25,19 +26,38 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.net.URLConnection;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 public final class Downscaling {
@@ -46,12 +66,22 @@ public final class Downscaling {
 
     public static void main(String[] args) throws IOException, URISyntaxException {
         LOGGER.warn("args[0]: {}", args[0]);
+        final DownscalingParameters parameters = DownscalingParameters.load();
+        MappingMetrics.resetPeakHeap();
+
         // Load all networks from resources
         // Each network corresponds to one country
-        final Set<Network> networks = loadNetworks();
+        final Map<String, Long> loadingTimes = new ConcurrentHashMap<>();
+        final Map<String, Path> caseFiles = new ConcurrentHashMap<>();
+        final List<Network> networks = loadNetworks(parameters.getLoadingParallelism(), loadingTimes, caseFiles);
+
+        // Prepare an output directory (from the path in arguments)
+        // Both logs and mapping results will be saved into it
+        final Path outputPath = Paths.get(args[0]);
+        Files.createDirectories(outputPath);
 
         // Load the time series store
-        final ReadOnlyTimeSeriesStore tsStore = initTSStore();
+        final ReadOnlyTimeSeriesStore tsStore = parameters.isMappedTimeSeriesStore() ? initMappedTSStore(outputPath) : initTSStore();
 
         // Load mapping groovy script. Build a DSL loader with it
         // This DSL loader will be later used when performing mapping
@@ -60,61 +90,223 @@ public final class Downscaling {
         try (Reader reader = Files.newBufferedReader(mappingFilePath)) {
             dslLoader = new TimeSeriesDslLoader(reader, mappingFilePath.getFileName().toString());
         }
+        // If enabled, the mapping configs evaluated by the script are cached, as long as the script and the case files do not change
+        final MappingConfigCache configCache = parameters.isMappingConfigCache()
+                ? new MappingConfigCache(parameters.getMappingConfigCacheDirectory(), Files.readString(mappingFilePath), caseFiles)
+                : null;
 
-        // Iterate over each network to perform mapping
+        // Countries are independent, they are mapped concurrently
+        try (ExecutorService executor = Executors.newFixedThreadPool(parameters.getMappingParallelism())) {
+            mapNetworks(networks, loadingTimes, dslLoader, tsStore, outputPath, parameters, configCache, executor);
+        } finally {
+            if (tsStore instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+        if (configCache != null) {
+            LOGGER.info("Mapping config cache saved {} ms", configCache.getSavedTime(TimeUnit.MILLISECONDS));
+        }
+    }
+
+    /**
+     * Map each network on the given executor, and wait for all the mappings to be done.
+     * The DSL loader and the time series store are only read, so they are shared by all the mappings,
+     * whereas each network gets its own mapping config, logger and output directory.
+     *
+     * @param loadingTimes the loading time of the networks in nanoseconds, by network id, reported in their metrics
+     * @param configCache the cache of the mapping configs, or null to always evaluate them with the DSL loader
+     */
+    public static void mapNetworks(Collection<Network> networks, Map<String, Long> loadingTimes, TimeSeriesDslLoader dslLoader, ReadOnlyTimeSeriesStore tsStore,
+                                   Path outputPath, DownscalingParameters parameters, MappingConfigCache configCache,
+                                   Executor executor) {
+        Map<Network, CompletableFuture<Void>> mappings = new LinkedHashMap<>();
         for (final Network network : networks) {
-            // Register the time series to use for this network mapping
-            // For each country, we need:
-            //    - A LOAD_<country name> TS (for loads mapping)
-            //    - An <energy type>_<country_name> TS for each of the networks energy type (for generators mapping)
-            // Iterate over all generators in the network to know which energy types will be required
-            Country country = network.getCountries().iterator().next();
-            Set<String> tsNames = new HashSet<>();
-            network.getGeneratorStream()
-                   .map(Generator::getEnergySource)
-                   .distinct()
-                   .forEach(eSource -> tsNames.add(eSource.toString() + "_" + country.toString()));
-            tsNames.add("LOAD_" + country.toString());
-
-            // Build mapping config for this network
-            //     - mapping parameters: control mapping behavior (loaded from config.yml)
-            //     - computation range : control time series versions span for the mapping (here only first version)
-            final MappingParameters mappingParameters = MappingParameters.load();
-            final ComputationRange computationRange = new ComputationRange(tsStore.getTimeSeriesDataVersions(), 1, 1);
-            final TimeSeriesMappingConfig mappingConfig = dslLoader.load(network, mappingParameters, tsStore, new DataTableStore(), computationRange);
-            mappingConfig.setMappedTimeSeriesNames(tsNames);
-
-            // Initialize mapping parameters
-            final TimeSeriesMappingConfigTableLoader loader = new TimeSeriesMappingConfigTableLoader(mappingConfig, tsStore);
-            final Range<Integer> pointRange = Range.closed(0, loader.checkIndexUnicity().getPointCount() - 1);
-            final TimeSeriesMapperParameters tsMappingParams = new TimeSeriesMapperParameters(
-                        new TreeSet<>(tsStore.getTimeSeriesDataVersions()),
-                        pointRange,
-                        true,
-                        true,
-                        false,
-                        mappingParameters.getToleranceThreshold()
-            );
-
-            // Prepare an output directory (from the path in arguments)
-            // Both logs and mapping results will be saved into it
-            final Path outputPath = Paths.get(args[0]);
-            // Init output for this network: create a directory with the country name
-            // equipment writer will produce a CSV file for each version (eg: version_1.csv)
-            // logger will produce a logfile containing all warning information about mapping operation
-            final Path networkOutputDir = outputPath.resolve(country.getName());
-            Files.createDirectories(networkOutputDir);
-            final TimeSeriesMapperObserver equipmentWriter = new EquipmentTimeSeriesWriterObserver(network, mappingConfig, 10, pointRange, networkOutputDir);
-            final DataSource dataSource = DataSourceUtil.createDataSource(networkOutputDir, "network", null, null);
-            final TimeSeriesMapperObserver networkPointWriter = new NetworkPointWriter(network, dataSource);
-            final List<TimeSeriesMapperObserver> observers = List.of(equipmentWriter, networkPointWriter);
-            TimeSeriesMappingLogger logger = new TimeSeriesMappingLogger();
-
-            // Perform mapping
+            mappings.put(network, CompletableFuture.runAsync(() -> {
+                try {
+                    mapNetwork(network, loadingTimes.getOrDefault(network.getId(), 0L), dslLoader, tsStore, outputPath, parameters, configCache);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, executor));
+        }
+        // Wait for all the mappings, even if one of them fails
+        List<String> failures = new ArrayList<>();
+        mappings.forEach((network, mapping) -> {
+            try {
+                mapping.join();
+            } catch (CompletionException e) {
+                LOGGER.error("Mapping of network '{}' failed", network.getId(), e.getCause());
+                failures.add(network.getId());
+            }
+        });
+        if (!failures.isEmpty()) {
+            throw new PowsyblException("Mapping failed for networks " + failures);
+        }
+    }
+
+    private static void mapNetwork(Network network, long loadingTime, TimeSeriesDslLoader dslLoader, ReadOnlyTimeSeriesStore tsStore, Path outputPath,
+                                   DownscalingParameters parameters, MappingConfigCache configCache) throws IOException {
+        // Register the time series to use for this network mapping
+        // For each country, we need:
+        //    - A LOAD_<country name> TS (for loads mapping)
+        //    - An <energy type>_<country_name> TS for each of the networks energy type (for generators mapping)
+        // Iterate over all generators in the network to know which energy types will be required
+        Country country = network.getCountries().iterator().next();
+        Set<String> tsNames = new HashSet<>();
+        network.getGeneratorStream()
+               .map(Generator::getEnergySource)
+               .distinct()
+               .forEach(eSource -> tsNames.add(eSource.toString() + "_" + country.toString()));
+        tsNames.add("LOAD_" + country.toString());
+        final MappingMetrics metrics = new MappingMetrics(country.getName(), parameters.getProgressInterval(), TimeUnit.SECONDS);
+        metrics.add(MappingMetrics.Phase.NETWORK_LOADING, loadingTime);
+
+        // Build mapping config for this network
+        //     - mapping parameters: control mapping behavior (loaded from config.yml)
+        //     - computation range : control time series versions span for the mapping (here only first version)
+        final MappingParameters mappingParameters = MappingParameters.load();
+        final ComputationRange computationRange = new ComputationRange(tsStore.getTimeSeriesDataVersions(), 1, 1);
+        final Supplier<TimeSeriesMappingConfig> evaluator = () -> {
+            TimeSeriesMappingConfig config = dslLoader.load(network, mappingParameters, tsStore, new DataTableStore(), computationRange);
+            config.setMappedTimeSeriesNames(tsNames);
+            return config;
+        };
+        long start = System.nanoTime();
+        final TimeSeriesMappingConfig mappingConfig = configCache != null
+                ? configCache.load(network, mappingParameters, tsStore, tsNames, evaluator)
+                : evaluator.get();
+        metrics.add(MappingMetrics.Phase.DSL_EVALUATION, System.nanoTime() - start);
+
+        // Initialize mapping parameters
+        final TimeSeriesMappingConfigTableLoader loader = new TimeSeriesMappingConfigTableLoader(mappingConfig, tsStore);
+        start = System.nanoTime();
+        final Range<Integer> pointRange = Range.closed(0, loader.checkIndexUnicity().getPointCount() - 1);
+        metrics.add(MappingMetrics.Phase.INDEX_UNICITY_CHECK, System.nanoTime() - start);
+
+        // Init output for this network: create a directory with the country name
+        // equipment writer will produce a CSV file for each version (eg: version_1.csv)
+        // logger will produce a logfile containing all warning information about mapping operation
+        final Path networkOutputDir = outputPath.resolve(country.getName());
+        Files.createDirectories(networkOutputDir);
+
+        // The mapping config is computed once and shared by all the versions and shards
+        final SortedSet<Integer> versions = new TreeSet<>(tsStore.getTimeSeriesDataVersions());
+        metrics.setExpectedPoints((long) versions.size() * (pointRange.upperEndpoint() + 1));
+        final List<SortedSet<Integer>> versionGroups = parameters.getVersionParallelism() > 1
+                ? versions.stream().<SortedSet<Integer>>map(version -> new TreeSet<>(Set.of(version))).toList()
+                : List.of(versions);
+        final List<Range<Integer>> shards = PointRangeSharding.split(pointRange, parameters.getMappingShards());
+        final List<MappingTask> tasks = new ArrayList<>();
+        for (SortedSet<Integer> versionGroup : versionGroups) {
+            for (Range<Integer> shard : shards) {
+                tasks.add(new MappingTask(versionGroup, shard));
+            }
+        }
+        start = System.nanoTime();
+        if (tasks.size() == 1) {
+            mapPoints(network, mappingConfig, tsStore, mappingParameters, versions, pointRange, networkOutputDir, networkOutputDir,
+                      parameters.getNetworkPointOutput(), metrics);
+        } else {
+            int parallelism = Math.min(tasks.size(), parameters.getVersionParallelism() * shards.size());
+            mapTasks(network, mappingConfig, tsStore, mappingParameters, tasks, parallelism, networkOutputDir,
+                     parameters.getNetworkPointOutput(), metrics);
+        }
+        metrics.add(MappingMetrics.Phase.MAPPING, System.nanoTime() - start);
+        metrics.writeJson(networkOutputDir.resolve("metrics.json"));
+        LOGGER.info("{}", metrics);
+    }
+
+    /**
+     * A part of the mapping of a network: some versions, on a shard of the point range.
+     */
+    private record MappingTask(SortedSet<Integer> versions, Range<Integer> pointRange) {
+    }
+
+    /**
+     * Map the tasks in parallel, each one on a copy of the network that no other task is using, and merge their outputs:
+     * each version writes its own file, and the files written by several tasks are merged in version and point order.
+     * The network points are all written to the network output directory, as their file names differ.
+     */
+    private static void mapTasks(Network network, TimeSeriesMappingConfig mappingConfig, ReadOnlyTimeSeriesStore tsStore,
+                                 MappingParameters mappingParameters, List<MappingTask> tasks, int parallelism,
+                                 Path networkOutputDir, DownscalingParameters.NetworkPointOutput networkPointOutput,
+                                 MappingMetrics metrics) throws IOException {
+        // The copies are made before any mapping modifies the network. All the tasks map the same equipments,
+        // so a copy can be reused by the next task once a task is done
+        final BlockingQueue<Network> networks = new ArrayBlockingQueue<>(parallelism);
+        networks.add(network);
+        for (int i = 1; i < parallelism; i++) {
+            networks.add(NetworkSerDe.copy(network));
+        }
+        final List<Path> taskDirs = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            taskDirs.add(Files.createDirectories(networkOutputDir.resolve("task_" + i)));
+        }
+        try (ExecutorService executor = Executors.newFixedThreadPool(parallelism)) {
+            CompletableFuture<?>[] mappings = new CompletableFuture<?>[tasks.size()];
+            for (int i = 0; i < tasks.size(); i++) {
+                final MappingTask task = tasks.get(i);
+                final Path taskDir = taskDirs.get(i);
+                mappings[i] = CompletableFuture.runAsync(() -> {
+                    try {
+                        Network taskNetwork = networks.take();
+                        try {
+                            mapPoints(taskNetwork, mappingConfig, tsStore, mappingParameters, task.versions(), task.pointRange(),
+                                      taskDir, networkOutputDir, networkPointOutput, metrics);
+                        } finally {
+                            networks.add(taskNetwork);
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new PowsyblException("Interrupted while waiting for a network", e);
+                    }
+                }, executor);
+            }
+            CompletableFuture.allOf(mappings).join();
+        }
+        long start = System.nanoTime();
+        PointRangeSharding.mergeOutputs(taskDirs, networkOutputDir);
+        metrics.add(MappingMetrics.Phase.OUTPUT, System.nanoTime() - start);
+    }
+
+    private static void mapPoints(Network network, TimeSeriesMappingConfig mappingConfig, ReadOnlyTimeSeriesStore tsStore,
+                                  MappingParameters mappingParameters, SortedSet<Integer> versions, Range<Integer> pointRange,
+                                  Path outputDir, Path networkPointsDir,
+                                  DownscalingParameters.NetworkPointOutput networkPointOutput, MappingMetrics metrics) throws IOException {
+        final TimeSeriesMapperParameters tsMappingParams = new TimeSeriesMapperParameters(
+                    versions,
+                    pointRange,
+                    true,
+                    true,
+                    false,
+                    mappingParameters.getToleranceThreshold()
+        );
+        final TimeSeriesMapperObserver equipmentWriter = new EquipmentTimeSeriesWriterObserver(network, mappingConfig, 10, pointRange, outputDir);
+        final NetworkPointDeltaWriter deltaWriter;
+        final TimeSeriesMapperObserver networkPointWriter;
+        if (networkPointOutput == DownscalingParameters.NetworkPointOutput.DELTAS) {
+            // One file per task, named after its first version and point, in the directory shared by the tasks
+            final Path deltaFile = networkPointsDir.resolve("network_deltas_" + versions.first() + "_" + pointRange.lowerEndpoint() + ".bin.gz");
+            deltaWriter = new NetworkPointDeltaWriter(network, deltaFile);
+            networkPointWriter = deltaWriter;
+        } else {
+            deltaWriter = null;
+            final DataSource dataSource = DataSourceUtil.createDataSource(networkPointsDir, "network", null, null);
+            networkPointWriter = new NetworkPointWriter(network, dataSource);
+        }
+        final List<TimeSeriesMapperObserver> observers = metrics.observe(List.of(equipmentWriter, networkPointWriter));
+        TimeSeriesMappingLogger logger = new TimeSeriesMappingLogger();
+
+        // Perform mapping. The delta writer, if any, is closed even if the mapping fails, to stop its thread
+        try (deltaWriter) {
             TimeSeriesMapper mapper = new TimeSeriesMapper(mappingConfig, tsMappingParams, network, logger);
             mapper.mapToNetwork(tsStore, observers);
-            logger.writeCsv(networkOutputDir.resolve("mapping.log"));
         }
+        long start = System.nanoTime();
+        logger.writeCsv(outputDir.resolve("mapping.log"));
+        metrics.add(MappingMetrics.Phase.OUTPUT, System.nanoTime() - start);
     }
 
     /**
@@ -133,33 +325,82 @@ public final class Downscaling {
         return store;
     }
 
+    /**
+     * Load TS store from resources ts-test.csv file, through a memory-mapped columnar copy of it.
+     * The copy is made in the output directory and reused by the next runs as long as the size and the last
+     * modification time of ts-test.csv, recorded next to it, are unchanged
+     *
+     * @return a ReadOnlyTimeSeriesStore decoding the time series when they are requested
+     */
+    private static ReadOnlyTimeSeriesStore initMappedTSStore(Path outputPath) throws IOException {
+        final Path storeFile = outputPath.resolve("ts-test.tsms");
+        final Path stampFile = outputPath.resolve("ts-test.tsms.source");
+        final URLConnection source = Objects.requireNonNull(Downscaling.class.getClassLoader().getResource("ts-test.csv")).openConnection();
+        // The connection is opened, and its stream closed, even if the copy is up to date
+        try (InputStream is = source.getInputStream()) {
+            final String stamp = source.getContentLengthLong() + " " + source.getLastModified();
+            if (!Files.exists(storeFile) || !Files.exists(stampFile) || !stamp.equals(Files.readString(stampFile))) {
+                // The stamp is removed first, so that a failed conversion is not taken for an up-to-date copy
+                Files.deleteIfExists(stampFile);
+                TimeSeriesCsvConverter.convert(new BufferedReader(new InputStreamReader(is)), storeFile);
+                Files.writeString(stampFile, stamp);
+            }
+        }
+        return MappedTimeSeriesStore.open(storeFile);
+    }
+
     /**
      * Load all networks in CGMES format. Ignore invalid import files.
      * Iterate over each file in the "networks" directory
      * If the file is a zip file, try to load it as a CGMES network input
+     * Files are imported concurrently, at most {@code parallelism} at the same time, as each import needs a lot of memory
      *
-     * @return produce a set containing al loaded networks
+     * @param caseFiles filled with the file of each loaded network, by network id
+     * @return produce a list containing all loaded networks, in the order of their file paths
      */
-    private static Set<Network> loadNetworks() throws IOException, URISyntaxException {
-        Set<Network> networks = new HashSet<>();
+    private static List<Network> loadNetworks(int parallelism, Map<String, Long> loadingTimes, Map<String, Path> caseFiles) throws IOException, URISyntaxException {
         final URL networksDir = Downscaling.class.getClassLoader().getResource("networks");
         final Path networksDirPath = Paths.get(Objects.requireNonNull(networksDir).toURI());
+        List<Path> zipFiles;
         try (Stream<Path> walk = Files.walk(networksDirPath)) {
-            walk.filter(Files::isRegularFile)
-                .filter(f -> f.toString().endsWith(".zip"))
-                .forEach(zipFile -> {
-                    try {
-                        final Network network = Network.read(zipFile.toFile().toString());
-                        networks.add(network);
-                    } catch (Exception e) {
-                        String msg = "Could not load network from file [" + zipFile.getFileName().toString() + "]";
-                        LOGGER.error(msg, e);
-                    }
-                });
+            zipFiles = walk.filter(Files::isRegularFile)
+                           .filter(f -> f.toString().endsWith(".zip"))
+                           .sorted()
+                           .toList();
+        }
+        List<Network> networks = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(parallelism)) {
+            List<CompletableFuture<Network>> imports = zipFiles.stream()
+                .map(zipFile -> CompletableFuture.supplyAsync(() -> loadNetwork(zipFile, loadingTimes, caseFiles), executor))
+                .toList();
+            // Join in file order, so that the networks do not depend on the import durations
+            imports.stream()
+                   .map(CompletableFuture::join)
+                   .filter(Objects::nonNull)
+                   .forEach(networks::add);
         }
         return networks;
     }
 
+    /**
+     * @return the network, or null if the file cannot be imported
+     */
+    private static Network loadNetwork(Path zipFile, Map<String, Long> loadingTimes, Map<String, Path> caseFiles) {
+        long start = System.nanoTime();
+        try {
+            final Network network = Network.read(zipFile.toFile().toString());
+            long loadingTime = System.nanoTime() - start;
+            loadingTimes.put(network.getId(), loadingTime);
+            caseFiles.put(network.getId(), zipFile);
+            LOGGER.info("Network '{}' loaded from file [{}] in {} ms", network.getId(), zipFile.getFileName(), TimeUnit.NANOSECONDS.toMillis(loadingTime));
+            return network;
+        } catch (Exception e) {
+            String msg = "Could not load network from file [" + zipFile.getFileName().toString() + "]";
+            LOGGER.error(msg, e);
+            return null;
+        }
+    }
+
     private Downscaling() {
     }
 }
@@ -0,0 +1,194 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.tutorials.downscaling;
+
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.commons.config.ModuleConfig;
+import com.powsybl.commons.config.PlatformConfig;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Parameters of the downscaling tutorial, loaded from the {@code downscaling} module of config.yml.
+ */
+public final class DownscalingParameters {
+
+    private static final String MODULE_NAME = "downscaling";
+
+    /**
+     * How the mapped network of each point is written.
+     */
+    public enum NetworkPointOutput {
+        /**
+         * A network file per point, written by {@code NetworkPointWriter}.
+         */
+        FILES,
+        /**
+         * The changed injection values of each point, in a single file written by {@link NetworkPointDeltaWriter}.
+         */
+        DELTAS
+    }
+
+    private static final int DEFAULT_PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    private static final Path DEFAULT_MAPPING_CONFIG_CACHE_DIRECTORY = Paths.get(System.getProperty("user.home"), ".cache", "powsybl", "mapping-configs");
+
+    private int loadingParallelism = DEFAULT_PARALLELISM;
+
+    private int mappingParallelism = DEFAULT_PARALLELISM;
+
+    private int mappingShards = 1;
+
+    private int versionParallelism = 1;
+
+    private boolean mappedTimeSeriesStore = false;
+
+    private boolean mappingConfigCache = false;
+
+    private Path mappingConfigCacheDirectory = DEFAULT_MAPPING_CONFIG_CACHE_DIRECTORY;
+
+    private NetworkPointOutput networkPointOutput = NetworkPointOutput.FILES;
+
+    private int progressInterval = 0;
+
+    public static DownscalingParameters load() {
+        return load(PlatformConfig.defaultConfig());
+    }
+
+    public static DownscalingParameters load(PlatformConfig platformConfig) {
+        DownscalingParameters parameters = new DownscalingParameters();
+        Optional<ModuleConfig> config = platformConfig.getOptionalModuleConfig(MODULE_NAME);
+        config.ifPresent(c -> parameters
+            .setLoadingParallelism(c.getIntProperty("loading-parallelism", DEFAULT_PARALLELISM))
+            .setMappingParallelism(c.getIntProperty("mapping-parallelism", DEFAULT_PARALLELISM))
+            .setMappingShards(c.getIntProperty("mapping-shards", 1))
+            .setVersionParallelism(c.getIntProperty("version-parallelism", 1))
+            .setMappedTimeSeriesStore(c.getBooleanProperty("mapped-time-series-store", false))
+            .setMappingConfigCache(c.getBooleanProperty("mapping-config-cache", false))
+            .setMappingConfigCacheDirectory(c.getPathProperty("mapping-config-cache-directory", DEFAULT_MAPPING_CONFIG_CACHE_DIRECTORY))
+            .setNetworkPointOutput(c.getEnumProperty("network-point-output", NetworkPointOutput.class, NetworkPointOutput.FILES))
+            .setProgressInterval(c.getIntProperty("progress-interval", 0)));
+        return parameters;
+    }
+
+    /**
+     * Number of networks imported at the same time. Lower it to reduce the peak heap.
+     */
+    public int getLoadingParallelism() {
+        return loadingParallelism;
+    }
+
+    public DownscalingParameters setLoadingParallelism(int loadingParallelism) {
+        this.loadingParallelism = checkParallelism(loadingParallelism);
+        return this;
+    }
+
+    /**
+     * Number of countries mapped at the same time.
+     */
+    public int getMappingParallelism() {
+        return mappingParallelism;
+    }
+
+    public DownscalingParameters setMappingParallelism(int mappingParallelism) {
+        this.mappingParallelism = checkParallelism(mappingParallelism);
+        return this;
+    }
+
+    /**
+     * Number of shards the point range of a country is split into, each one mapped in parallel on its own copy of the network.
+     */
+    public int getMappingShards() {
+        return mappingShards;
+    }
+
+    public DownscalingParameters setMappingShards(int mappingShards) {
+        this.mappingShards = checkParallelism(mappingShards);
+        return this;
+    }
+
+    /**
+     * Number of time series versions of a country mapped at the same time, each one on its own copy of the network.
+     * With 1, all the versions are mapped one after the other by a single mapper.
+     */
+    public int getVersionParallelism() {
+        return versionParallelism;
+    }
+
+    public DownscalingParameters setVersionParallelism(int versionParallelism) {
+        this.versionParallelism = checkParallelism(versionParallelism);
+        return this;
+    }
+
+    /**
+     * Whether the time series are read from a memory-mapped columnar copy of the CSV file, instead of being all loaded in memory.
+     */
+    public boolean isMappedTimeSeriesStore() {
+        return mappedTimeSeriesStore;
+    }
+
+    public DownscalingParameters setMappedTimeSeriesStore(boolean mappedTimeSeriesStore) {
+        this.mappedTimeSeriesStore = mappedTimeSeriesStore;
+        return this;
+    }
+
+    /**
+     * Whether the mapping configs evaluated by the mapping script are cached on disk, see {@link MappingConfigCache}.
+     * Disabled by default, as the cache only detects the changes of the case files, not of the networks.
+     */
+    public boolean isMappingConfigCache() {
+        return mappingConfigCache;
+    }
+
+    public DownscalingParameters setMappingConfigCache(boolean mappingConfigCache) {
+        this.mappingConfigCache = mappingConfigCache;
+        return this;
+    }
+
+    public Path getMappingConfigCacheDirectory() {
+        return mappingConfigCacheDirectory;
+    }
+
+    public DownscalingParameters setMappingConfigCacheDirectory(Path mappingConfigCacheDirectory) {
+        this.mappingConfigCacheDirectory = Objects.requireNonNull(mappingConfigCacheDirectory);
+        return this;
+    }
+
+    public NetworkPointOutput getNetworkPointOutput() {
+        return networkPointOutput;
+    }
+
+    public DownscalingParameters setNetworkPointOutput(NetworkPointOutput networkPointOutput) {
+        this.networkPointOutput = Objects.requireNonNull(networkPointOutput);
+        return this;
+    }
+
+    /**
+     * Interval in seconds between two progress lines of the mapping of a country, 0 to log no progress.
+     */
+    public int getProgressInterval() {
+        return progressInterval;
+    }
+
+    public DownscalingParameters setProgressInterval(int progressInterval) {
+        if (progressInterval < 0) {
+            throw new PowsyblException("Progress interval must be positive: " + progressInterval);
+        }
+        this.progressInterval = progressInterval;
+        return this;
+    }
+
+    private static int checkParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new PowsyblException("Parallelism must be at least 1: " + parallelism);
+        }
+        return parallelism;
+    }
+}
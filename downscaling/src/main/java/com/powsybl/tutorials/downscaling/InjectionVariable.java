@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.tutorials.downscaling;
+
+import com.powsybl.iidm.network.Generator;
+import com.powsybl.iidm.network.HvdcLine;
+import com.powsybl.iidm.network.Identifiable;
+import com.powsybl.iidm.network.Load;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.Switch;
+import com.powsybl.iidm.network.TwoWindingsTransformer;
+import com.powsybl.iidm.network.extensions.HvdcOperatorActivePowerRange;
+import com.powsybl.iidm.network.extensions.LoadDetail;
+
+/**
+ * The network values the mapping modifies, written by {@link NetworkPointDeltaWriter}: the injections of generators,
+ * loads and HVDC lines, the phase tap positions of two windings transformers and the states of switches. The load
+ * details and the HVDC operator active power ranges are only written for the equipments having these extensions.
+ * Boolean values are written as 0 or 1, and tap positions as doubles.
+ */
+enum InjectionVariable {
+    GENERATOR_TARGET_P,
+    GENERATOR_MIN_P,
+    GENERATOR_MAX_P,
+    GENERATOR_TARGET_Q,
+    GENERATOR_TARGET_V,
+    GENERATOR_VOLTAGE_REGULATOR_ON,
+    LOAD_P0,
+    LOAD_Q0,
+    LOAD_FIXED_ACTIVE_POWER,
+    LOAD_VARIABLE_ACTIVE_POWER,
+    LOAD_FIXED_REACTIVE_POWER,
+    LOAD_VARIABLE_REACTIVE_POWER,
+    HVDC_ACTIVE_POWER_SETPOINT,
+    HVDC_MAX_P,
+    HVDC_OPR_FROM_CS1_TO_CS2,
+    HVDC_OPR_FROM_CS2_TO_CS1,
+    PHASE_TAP_POSITION,
+    SWITCH_OPEN;
+
+    Identifiable<?>[] getEquipments(Network network) {
+        return switch (this) {
+            case GENERATOR_TARGET_P, GENERATOR_MIN_P, GENERATOR_MAX_P, GENERATOR_TARGET_Q, GENERATOR_TARGET_V,
+                 GENERATOR_VOLTAGE_REGULATOR_ON -> network.getGeneratorStream().toArray(Identifiable<?>[]::new);
+            case LOAD_P0, LOAD_Q0 -> network.getLoadStream().toArray(Identifiable<?>[]::new);
+            case LOAD_FIXED_ACTIVE_POWER, LOAD_VARIABLE_ACTIVE_POWER, LOAD_FIXED_REACTIVE_POWER, LOAD_VARIABLE_REACTIVE_POWER ->
+                network.getLoadStream().filter(load -> load.getExtension(LoadDetail.class) != null).toArray(Identifiable<?>[]::new);
+            case HVDC_ACTIVE_POWER_SETPOINT, HVDC_MAX_P -> network.getHvdcLineStream().toArray(Identifiable<?>[]::new);
+            case HVDC_OPR_FROM_CS1_TO_CS2, HVDC_OPR_FROM_CS2_TO_CS1 ->
+                network.getHvdcLineStream().filter(line -> line.getExtension(HvdcOperatorActivePowerRange.class) != null).toArray(Identifiable<?>[]::new);
+            case PHASE_TAP_POSITION -> network.getTwoWindingsTransformerStream().filter(TwoWindingsTransformer::hasPhaseTapChanger).toArray(Identifiable<?>[]::new);
+            case SWITCH_OPEN -> network.getSwitchStream().toArray(Identifiable<?>[]::new);
+        };
+    }
+
+    Identifiable<?> getEquipment(Network network, String id) {
+        return switch (this) {
+            case GENERATOR_TARGET_P, GENERATOR_MIN_P, GENERATOR_MAX_P, GENERATOR_TARGET_Q, GENERATOR_TARGET_V,
+                 GENERATOR_VOLTAGE_REGULATOR_ON -> network.getGenerator(id);
+            case LOAD_P0, LOAD_Q0, LOAD_FIXED_ACTIVE_POWER, LOAD_VARIABLE_ACTIVE_POWER, LOAD_FIXED_REACTIVE_POWER,
+                 LOAD_VARIABLE_REACTIVE_POWER -> network.getLoad(id);
+            case HVDC_ACTIVE_POWER_SETPOINT, HVDC_MAX_P, HVDC_OPR_FROM_CS1_TO_CS2, HVDC_OPR_FROM_CS2_TO_CS1 -> network.getHvdcLine(id);
+            case PHASE_TAP_POSITION -> network.getTwoWindingsTransformer(id);
+            case SWITCH_OPEN -> network.getSwitch(id);
+        };
+    }
+
+    double getValue(Identifiable<?> equipment) {
+        return switch (this) {
+            case GENERATOR_TARGET_P -> ((Generator) equipment).getTargetP();
+            case GENERATOR_MIN_P -> ((Generator) equipment).getMinP();
+            case GENERATOR_MAX_P -> ((Generator) equipment).getMaxP();
+            case GENERATOR_TARGET_Q -> ((Generator) equipment).getTargetQ();
+            case GENERATOR_TARGET_V -> ((Generator) equipment).getTargetV();
+            case GENERATOR_VOLTAGE_REGULATOR_ON -> ((Generator) equipment).isVoltageRegulatorOn() ? 1 : 0;
+            case LOAD_P0 -> ((Load) equipment).getP0();
+            case LOAD_Q0 -> ((Load) equipment).getQ0();
+            case LOAD_FIXED_ACTIVE_POWER -> getLoadDetail(equipment).getFixedActivePower();
+            case LOAD_VARIABLE_ACTIVE_POWER -> getLoadDetail(equipment).getVariableActivePower();
+            case LOAD_FIXED_REACTIVE_POWER -> getLoadDetail(equipment).getFixedReactivePower();
+            case LOAD_VARIABLE_REACTIVE_POWER -> getLoadDetail(equipment).getVariableReactivePower();
+            case HVDC_ACTIVE_POWER_SETPOINT -> ((HvdcLine) equipment).getActivePowerSetpoint();
+            case HVDC_MAX_P -> ((HvdcLine) equipment).getMaxP();
+            case HVDC_OPR_FROM_CS1_TO_CS2 -> getActivePowerRange(equipment).getOprFromCS1toCS2();
+            case HVDC_OPR_FROM_CS2_TO_CS1 -> getActivePowerRange(equipment).getOprFromCS2toCS1();
+            case PHASE_TAP_POSITION -> ((TwoWindingsTransformer) equipment).getPhaseTapChanger().getTapPosition();
+            case SWITCH_OPEN -> ((Switch) equipment).isOpen() ? 1 : 0;
+        };
+    }
+
+    /**
+     * Active power limits and voltage regulation of generators, and active power setpoint and maximum of HVDC lines,
+     * are set by {@link NetworkPointDeltaReader}, as they must be set in the right order.
+     */
+    void setValue(Identifiable<?> equipment, double value) {
+        switch (this) {
+            case GENERATOR_TARGET_P -> ((Generator) equipment).setTargetP(value);
+            case GENERATOR_TARGET_Q -> ((Generator) equipment).setTargetQ(value);
+            case LOAD_P0 -> ((Load) equipment).setP0(value);
+            case LOAD_Q0 -> ((Load) equipment).setQ0(value);
+            case LOAD_FIXED_ACTIVE_POWER -> getLoadDetail(equipment).setFixedActivePower(value);
+            case LOAD_VARIABLE_ACTIVE_POWER -> getLoadDetail(equipment).setVariableActivePower(value);
+            case LOAD_FIXED_REACTIVE_POWER -> getLoadDetail(equipment).setFixedReactivePower(value);
+            case LOAD_VARIABLE_REACTIVE_POWER -> getLoadDetail(equipment).setVariableReactivePower(value);
+            case HVDC_OPR_FROM_CS1_TO_CS2 -> getActivePowerRange(equipment).setOprFromCS1toCS2((float) value);
+            case HVDC_OPR_FROM_CS2_TO_CS1 -> getActivePowerRange(equipment).setOprFromCS2toCS1((float) value);
+            case PHASE_TAP_POSITION -> ((TwoWindingsTransformer) equipment).getPhaseTapChanger().setTapPosition((int) value);
+            case SWITCH_OPEN -> ((Switch) equipment).setOpen(value != 0);
+            case GENERATOR_MIN_P, GENERATOR_MAX_P -> throw new IllegalStateException("Active power limits are set together");
+            case GENERATOR_TARGET_V, GENERATOR_VOLTAGE_REGULATOR_ON -> throw new IllegalStateException("Voltage regulation is set together");
+            case HVDC_ACTIVE_POWER_SETPOINT, HVDC_MAX_P -> throw new IllegalStateException("HVDC active power setpoint and maximum are set together");
+        }
+    }
+
+    private static LoadDetail getLoadDetail(Identifiable<?> equipment) {
+        return ((Load) equipment).getExtension(LoadDetail.class);
+    }
+
+    private static HvdcOperatorActivePowerRange getActivePowerRange(Identifiable<?> equipment) {
+        return ((HvdcLine) equipment).getExtension(HvdcOperatorActivePowerRange.class);
+    }
+}
@@ -0,0 +1,262 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.tutorials.downscaling;
+
+import com.google.common.collect.Range;
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.timeseries.DoubleTimeSeries;
+import com.powsybl.timeseries.IrregularTimeSeriesIndex;
+import com.powsybl.timeseries.ReadOnlyTimeSeriesStore;
+import com.powsybl.timeseries.RegularTimeSeriesIndex;
+import com.powsybl.timeseries.StoredDoubleTimeSeries;
+import com.powsybl.timeseries.StringTimeSeries;
+import com.powsybl.timeseries.TimeSeriesDataType;
+import com.powsybl.timeseries.TimeSeriesFilter;
+import com.powsybl.timeseries.TimeSeriesIndex;
+import com.powsybl.timeseries.TimeSeriesMetadata;
+import com.powsybl.timeseries.TimeSeriesStoreListener;
+import com.powsybl.timeseries.UncompressedDoubleDataChunk;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Read-only time series store backed by the columnar binary file written by {@link TimeSeriesCsvConverter}.
+ * The file is memory-mapped and only the requested columns are decoded, when they are requested, so the heap
+ * only holds the time series being used. {@link #getValues} decodes a range of points of a column, but the
+ * {@code TimeSeriesMapper} only reads the store through {@link #getDoubleTimeSeries}, which decodes whole columns:
+ * a mapping restricted to a point range, e.g. a shard, still decodes all the points of the mapped time series.
+ * <p>
+ * The data is mapped once, when the store is opened, in segments of whole columns of at most 2 GB each, since a
+ * mapped buffer is indexed by an int.
+ * <p>
+ * The store can be read from several threads at the same time. It only contains double time series.
+ */
+public final class MappedTimeSeriesStore implements ReadOnlyTimeSeriesStore, Closeable {
+
+    private final FileChannel channel;
+
+    private final int pointCount;
+
+    private final Map<Integer, Integer> versionIndexes;
+
+    private final Map<String, Integer> columnIndexes;
+
+    private final ByteBuffer[] segments;
+
+    private final int columnsPerSegment;
+
+    private final TimeSeriesIndex index;
+
+    private MappedTimeSeriesStore(FileChannel channel) throws IOException {
+        this.channel = channel;
+        ByteBuffer fixedHeader = channel.map(FileChannel.MapMode.READ_ONLY, 0, TimeSeriesCsvConverter.FIXED_HEADER_SIZE);
+        if (fixedHeader.getInt() != TimeSeriesCsvConverter.MAGIC || fixedHeader.getInt() != TimeSeriesCsvConverter.FORMAT_VERSION) {
+            throw new PowsyblException("Not a time series store file, or unsupported version");
+        }
+        pointCount = fixedHeader.getInt();
+        int versionCount = fixedHeader.getInt();
+        int columnCount = fixedHeader.getInt();
+        long dataOffset = fixedHeader.getLong();
+
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, TimeSeriesCsvConverter.FIXED_HEADER_SIZE,
+                                        dataOffset - TimeSeriesCsvConverter.FIXED_HEADER_SIZE);
+        Map<Integer, Integer> versions = new LinkedHashMap<>();
+        for (int i = 0; i < versionCount; i++) {
+            versions.put(header.getInt(), i);
+        }
+        versionIndexes = Collections.unmodifiableMap(versions);
+        long[] times = new long[pointCount];
+        header.asLongBuffer().get(times);
+        header.position(header.position() + pointCount * Long.BYTES);
+        index = createIndex(times);
+        Map<String, Integer> columns = new LinkedHashMap<>();
+        for (int i = 0; i < columnCount; i++) {
+            byte[] name = new byte[header.getInt()];
+            header.get(name);
+            columns.put(new String(name, StandardCharsets.UTF_8), i);
+        }
+        columnIndexes = Collections.unmodifiableMap(columns);
+
+        long columnSize = (long) pointCount * Double.BYTES;
+        if (columnSize > Integer.MAX_VALUE) {
+            throw new PowsyblException("Too many points to map a column: " + pointCount);
+        }
+        columnsPerSegment = (int) Math.max(1, Integer.MAX_VALUE / Math.max(columnSize, 1));
+        long totalColumns = (long) versionCount * columnCount;
+        if (dataOffset + totalColumns * columnSize > channel.size()) {
+            throw new PowsyblException("Truncated time series store file");
+        }
+        segments = new ByteBuffer[Math.toIntExact((totalColumns + columnsPerSegment - 1) / columnsPerSegment)];
+        for (int i = 0; i < segments.length; i++) {
+            long firstColumn = (long) i * columnsPerSegment;
+            long segmentColumns = Math.min(columnsPerSegment, totalColumns - firstColumn);
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, dataOffset + firstColumn * columnSize, segmentColumns * columnSize);
+        }
+    }
+
+    public static MappedTimeSeriesStore open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new MappedTimeSeriesStore(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static TimeSeriesIndex createIndex(long[] times) {
+        if (times.length > 1) {
+            long spacing = times[1] - times[0];
+            boolean regular = spacing > 0;
+            for (int i = 2; i < times.length && regular; i++) {
+                regular = times[i] - times[i - 1] == spacing;
+            }
+            if (regular) {
+                return RegularTimeSeriesIndex.create(Instant.ofEpochMilli(times[0]), Instant.ofEpochMilli(times[times.length - 1]),
+                                                     Duration.ofMillis(spacing));
+            }
+        }
+        return IrregularTimeSeriesIndex.create(Arrays.stream(times).mapToObj(Instant::ofEpochMilli).toList());
+    }
+
+    public int getPointCount() {
+        return pointCount;
+    }
+
+    /**
+     * Decode the values of the points of the range, which must be within {@code [0, pointCount - 1]}.
+     */
+    public double[] getValues(String timeSeriesName, int version, Range<Integer> pointRange) {
+        int column = getColumnIndex(timeSeriesName);
+        Integer versionIndex = versionIndexes.get(version);
+        if (versionIndex == null) {
+            throw new PowsyblException("Version " + version + " not found");
+        }
+        int firstPoint = pointRange.lowerEndpoint();
+        int lastPoint = pointRange.upperEndpoint();
+        if (firstPoint < 0 || lastPoint >= pointCount || firstPoint > lastPoint) {
+            throw new PowsyblException("Invalid point range " + pointRange + " for " + pointCount + " points");
+        }
+        long globalColumn = (long) versionIndex * columnIndexes.size() + column;
+        ByteBuffer segment = segments[(int) (globalColumn / columnsPerSegment)];
+        int offset = ((int) (globalColumn % columnsPerSegment) * pointCount + firstPoint) * Double.BYTES;
+        double[] values = new double[lastPoint - firstPoint + 1];
+        // An absolute slice leaves the position of the shared segment untouched
+        segment.slice(offset, values.length * Double.BYTES).asDoubleBuffer().get(values);
+        return values;
+    }
+
+    private int getColumnIndex(String timeSeriesName) {
+        Integer column = columnIndexes.get(Objects.requireNonNull(timeSeriesName));
+        if (column == null) {
+            throw new PowsyblException("Time series '" + timeSeriesName + "' not found");
+        }
+        return column;
+    }
+
+    @Override
+    public Set<String> getTimeSeriesNames(TimeSeriesFilter filter) {
+        // All the time series are stored, double time series
+        return new LinkedHashSet<>(columnIndexes.keySet());
+    }
+
+    @Override
+    public boolean timeSeriesExists(String timeSeriesName) {
+        return columnIndexes.containsKey(timeSeriesName);
+    }
+
+    @Override
+    public Optional<TimeSeriesMetadata> getTimeSeriesMetadata(String timeSeriesName) {
+        return timeSeriesExists(timeSeriesName) ? Optional.of(createMetadata(timeSeriesName)) : Optional.empty();
+    }
+
+    @Override
+    public List<TimeSeriesMetadata> getTimeSeriesMetadata(Set<String> timeSeriesNames) {
+        return timeSeriesNames.stream()
+                              .filter(this::timeSeriesExists)
+                              .map(this::createMetadata)
+                              .toList();
+    }
+
+    private TimeSeriesMetadata createMetadata(String timeSeriesName) {
+        return new TimeSeriesMetadata(timeSeriesName, TimeSeriesDataType.DOUBLE, index);
+    }
+
+    @Override
+    public Set<Integer> getTimeSeriesDataVersions() {
+        return versionIndexes.keySet();
+    }
+
+    @Override
+    public Set<Integer> getTimeSeriesDataVersions(String timeSeriesName) {
+        return timeSeriesExists(timeSeriesName) ? versionIndexes.keySet() : Collections.emptySet();
+    }
+
+    @Override
+    public Optional<DoubleTimeSeries> getDoubleTimeSeries(String timeSeriesName, int version) {
+        if (!timeSeriesExists(timeSeriesName) || !versionIndexes.containsKey(version)) {
+            return Optional.empty();
+        }
+        double[] values = getValues(timeSeriesName, version, Range.closed(0, pointCount - 1));
+        return Optional.of(new StoredDoubleTimeSeries(createMetadata(timeSeriesName), new UncompressedDoubleDataChunk(0, values)));
+    }
+
+    @Override
+    public List<DoubleTimeSeries> getDoubleTimeSeries(Set<String> timeSeriesNames, int version) {
+        return timeSeriesNames.stream()
+                              .map(name -> getDoubleTimeSeries(name, version))
+                              .flatMap(Optional::stream)
+                              .toList();
+    }
+
+    @Override
+    public List<DoubleTimeSeries> getDoubleTimeSeries(int version) {
+        return getDoubleTimeSeries(columnIndexes.keySet(), version);
+    }
+
+    @Override
+    public Optional<StringTimeSeries> getStringTimeSeries(String timeSeriesName, int version) {
+        return Optional.empty();
+    }
+
+    @Override
+    public List<StringTimeSeries> getStringTimeSeries(Set<String> timeSeriesNames, int version) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public void addListener(TimeSeriesStoreListener listener) {
+        // Read-only store: nothing to notify
+    }
+
+    @Override
+    public void removeListener(TimeSeriesStoreListener listener) {
+        // Read-only store: nothing to notify
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,164 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.tutorials.downscaling;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.metrix.mapping.MappingParameters;
+import com.powsybl.metrix.mapping.config.TimeSeriesMappingConfig;
+import com.powsybl.metrix.mapping.config.TimeSeriesMappingConfigJson;
+import com.powsybl.timeseries.ReadOnlyTimeSeriesStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Persistent cache of the mapping configs evaluated by the mapping script, so that a run with unchanged inputs does
+ * not evaluate the script again. The key is computed from the hash of the script, a fingerprint of the network, all
+ * the mapping parameters, the time series versions and the names of the time series. The configs are stored as JSON,
+ * with the time their evaluation took, to report the time saved by the cache.
+ * <p>
+ * The network is not serialized to compute its fingerprint, which would cost about as much as the evaluation of the
+ * script: the fingerprint is the id and the working variant of the network, and the path, the size and the last
+ * modification time of the case file it was imported from. A network modified after its import, or without a case
+ * file, may then be given the config of another state of the network, which is why the cache is disabled by default.
+ * <p>
+ * A cache failure never fails the mapping: the config is evaluated again.
+ */
+public final class MappingConfigCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MappingConfigCache.class);
+
+    private static final String EXTENSION = ".json";
+
+    private static final ObjectMapper PARAMETERS_MAPPER = JsonMapper.builder()
+        .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+        .build();
+
+    private final Path directory;
+
+    private final String scriptHash;
+
+    private final Map<String, Path> caseFiles;
+
+    private final AtomicLong savedMillis = new AtomicLong();
+
+    /**
+     * @param script the content of the mapping script
+     * @param caseFiles the case files the networks were imported from, by network id
+     */
+    public MappingConfigCache(Path directory, String script, Map<String, Path> caseFiles) {
+        this.directory = Objects.requireNonNull(directory);
+        this.scriptHash = Hashing.sha256().hashString(script, StandardCharsets.UTF_8).toString();
+        this.caseFiles = Objects.requireNonNull(caseFiles);
+    }
+
+    /**
+     * Read the mapping config of the network from the cache, or evaluate it and add it to the cache.
+     */
+    public TimeSeriesMappingConfig load(Network network, MappingParameters mappingParameters, ReadOnlyTimeSeriesStore tsStore,
+                                        Set<String> mappedTimeSeriesNames, Supplier<TimeSeriesMappingConfig> evaluator) {
+        Path entry;
+        try {
+            entry = directory.resolve(computeKey(network, mappingParameters, tsStore, mappedTimeSeriesNames) + EXTENSION);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Cannot compute the mapping config cache key of network '{}': {}", network.getId(), e.toString());
+            return evaluator.get();
+        }
+        if (Files.exists(entry)) {
+            try {
+                long start = System.currentTimeMillis();
+                TimeSeriesMappingConfig config;
+                long evaluationMillis;
+                try (BufferedReader reader = Files.newBufferedReader(entry)) {
+                    evaluationMillis = Long.parseLong(reader.readLine());
+                    config = TimeSeriesMappingConfigJson.parseJson(reader);
+                }
+                config.setMappedTimeSeriesNames(mappedTimeSeriesNames);
+                long readMillis = System.currentTimeMillis() - start;
+                long saved = Math.max(0, evaluationMillis - readMillis);
+                savedMillis.addAndGet(saved);
+                LOGGER.info("Mapping config of network '{}' read from the cache in {} ms, {} ms saved", network.getId(), readMillis, saved);
+                return config;
+            } catch (IOException | RuntimeException e) {
+                LOGGER.warn("Cannot read mapping config cache entry '{}', evaluating it again: {}", entry, e.toString());
+            }
+        }
+        long start = System.currentTimeMillis();
+        TimeSeriesMappingConfig config = evaluator.get();
+        long evaluationMillis = System.currentTimeMillis() - start;
+        try {
+            store(entry, config, evaluationMillis);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Cannot add the mapping config of network '{}' to the cache: {}", network.getId(), e.toString());
+        }
+        return config;
+    }
+
+    /**
+     * Evaluation time saved by the cache since it was created.
+     */
+    public long getSavedTime(TimeUnit unit) {
+        return unit.convert(savedMillis.get(), TimeUnit.MILLISECONDS);
+    }
+
+    private String computeKey(Network network, MappingParameters mappingParameters, ReadOnlyTimeSeriesStore tsStore,
+                              Set<String> mappedTimeSeriesNames) throws IOException {
+        Hasher hasher = Hashing.sha256().newHasher()
+            .putString(scriptHash, StandardCharsets.UTF_8)
+            .putString(network.getId(), StandardCharsets.UTF_8).putChar('\0')
+            .putString(network.getVariantManager().getWorkingVariantId(), StandardCharsets.UTF_8).putChar('\0');
+        Path caseFile = caseFiles.get(network.getId());
+        if (caseFile != null) {
+            BasicFileAttributes attributes = Files.readAttributes(caseFile, BasicFileAttributes.class);
+            hasher.putString(caseFile.toAbsolutePath().toString(), StandardCharsets.UTF_8).putChar('\0')
+                  .putLong(attributes.size())
+                  .putLong(attributes.lastModifiedTime().toMillis());
+        }
+        hasher.putBytes(PARAMETERS_MAPPER.writeValueAsBytes(mappingParameters));
+        new TreeSet<>(tsStore.getTimeSeriesDataVersions()).forEach(hasher::putInt);
+        // Sorted, and separated by a character that cannot be in a name
+        new TreeSet<>(tsStore.getTimeSeriesNames(null)).forEach(name -> hasher.putString(name, StandardCharsets.UTF_8).putChar('\0'));
+        hasher.putChar('\n');
+        new TreeSet<>(mappedTimeSeriesNames).forEach(name -> hasher.putString(name, StandardCharsets.UTF_8).putChar('\0'));
+        return hasher.hash().toString();
+    }
+
+    private void store(Path entry, TimeSeriesMappingConfig config, long evaluationMillis) throws IOException {
+        Files.createDirectories(directory);
+        Path tmpEntry = Files.createTempFile(directory, entry.getFileName().toString(), ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(tmpEntry)) {
+                writer.write(Long.toString(evaluationMillis));
+                writer.newLine();
+                writer.write(TimeSeriesMappingConfigJson.toJson(config));
+            }
+            Files.move(tmpEntry, entry, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmpEntry);
+        }
+    }
+}
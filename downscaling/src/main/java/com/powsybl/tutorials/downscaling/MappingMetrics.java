@@ -0,0 +1,237 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.tutorials.downscaling;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.powsybl.metrix.commons.observer.TimeSeriesMapperObserver;
+import com.powsybl.timeseries.TimeSeriesIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Timing and throughput of the mapping of a network: the time spent in each phase, the number of points mapped per
+ * second and the peak heap. The mapping tasks of the network share the metrics, so they are thread safe.
+ * <p>
+ * The mapper observers measure the points mapped and the time spent in the output writers. The mapping time includes
+ * this output time, and the output time of the tasks mapped in parallel is summed.
+ * <p>
+ * The peak heap is the sum of the peak usages of the heap memory pools, tracked by the JVM, since the last call to
+ * {@link #resetPeakHeap()}, so no allocation spike between two samples is missed. It is the peak of the whole JVM,
+ * read at the end of each phase: the networks mapped at the same time share it.
+ */
+public final class MappingMetrics {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MappingMetrics.class);
+
+    private static final int CHECK_MASK = 0xFF;
+
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    private static final List<MemoryPoolMXBean> HEAP_POOLS = ManagementFactory.getMemoryPoolMXBeans().stream()
+        .filter(pool -> pool.getType() == MemoryType.HEAP)
+        .toList();
+
+    public enum Phase {
+        NETWORK_LOADING("networkLoading"),
+        DSL_EVALUATION("dslEvaluation"),
+        INDEX_UNICITY_CHECK("indexUnicityCheck"),
+        MAPPING("mapping"),
+        OUTPUT("output");
+
+        private final String jsonName;
+
+        Phase(String jsonName) {
+            this.jsonName = jsonName;
+        }
+    }
+
+    private final String name;
+
+    private final long progressIntervalNanos;
+
+    private final AtomicLongArray phaseNanos = new AtomicLongArray(Phase.values().length);
+
+    private final AtomicLong mappedPoints = new AtomicLong();
+
+    private final AtomicLong peakHeapBytes = new AtomicLong();
+
+    private volatile long expectedPoints;
+
+    private long lastProgressNanos = System.nanoTime();
+
+    /**
+     * @param progressInterval interval between two progress lines, 0 to log no progress
+     */
+    public MappingMetrics(String name, long progressInterval, TimeUnit unit) {
+        this.name = Objects.requireNonNull(name);
+        this.progressIntervalNanos = unit.toNanos(progressInterval);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Reset the peak usages of the heap memory pools, at the start of a run.
+     */
+    public static void resetPeakHeap() {
+        HEAP_POOLS.forEach(MemoryPoolMXBean::resetPeakUsage);
+    }
+
+    public void add(Phase phase, long nanos) {
+        phaseNanos.addAndGet(phase.ordinal(), nanos);
+        readPeakHeap();
+    }
+
+    public long getTime(Phase phase, TimeUnit unit) {
+        return unit.convert(phaseNanos.get(phase.ordinal()), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Number of points of all the versions to map, shown by the progress lines.
+     */
+    public void setExpectedPoints(long expectedPoints) {
+        this.expectedPoints = expectedPoints;
+    }
+
+    public long getMappedPoints() {
+        return mappedPoints.get();
+    }
+
+    public double getPointsPerSecond() {
+        long mappingNanos = phaseNanos.get(Phase.MAPPING.ordinal());
+        return mappingNanos > 0 ? mappedPoints.get() * 1e9 / mappingNanos : 0;
+    }
+
+    public long getPeakHeapBytes() {
+        return peakHeapBytes.get();
+    }
+
+    /**
+     * The observers to give to a mapper of the network: the output writers, between two observers measuring the
+     * time spent in them.
+     */
+    public List<TimeSeriesMapperObserver> observe(List<TimeSeriesMapperObserver> writers) {
+        OutputTimer timer = new OutputTimer();
+        List<TimeSeriesMapperObserver> observers = new ArrayList<>(writers.size() + 2);
+        observers.add(timer.begin);
+        observers.addAll(writers);
+        observers.add(timer.finish);
+        return observers;
+    }
+
+    public void writeJson(Path file) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file);
+             JsonGenerator generator = new JsonFactory().createGenerator(writer)) {
+            generator.useDefaultPrettyPrinter();
+            generator.writeStartObject();
+            generator.writeStringField("name", name);
+            generator.writeObjectFieldStart("timesMillis");
+            for (Phase phase : Phase.values()) {
+                generator.writeNumberField(phase.jsonName, getTime(phase, TimeUnit.MILLISECONDS));
+            }
+            generator.writeEndObject();
+            generator.writeNumberField("mappedPoints", mappedPoints.get());
+            generator.writeNumberField("pointsPerSecond", getPointsPerSecond());
+            generator.writeNumberField("peakHeapBytes", peakHeapBytes.get());
+            generator.writeEndObject();
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(name).append(':');
+        for (Phase phase : Phase.values()) {
+            builder.append(' ').append(phase.jsonName).append('=').append(getTime(phase, TimeUnit.MILLISECONDS)).append("ms");
+        }
+        return builder.append(String.format(", %d points, %.1f points/s, peak heap %d MB",
+                                            mappedPoints.get(), getPointsPerSecond(), peakHeapBytes.get() >> 20))
+                      .toString();
+    }
+
+    private void pointMapped() {
+        long points = mappedPoints.incrementAndGet();
+        if (progressIntervalNanos > 0 && (points & CHECK_MASK) == 0) {
+            logProgress(points);
+        }
+    }
+
+    private synchronized void logProgress(long points) {
+        long now = System.nanoTime();
+        if (now - lastProgressNanos >= progressIntervalNanos) {
+            lastProgressNanos = now;
+            LOGGER.info("{}: {}/{} points mapped, heap {} MB", name, points, expectedPoints, MEMORY.getHeapMemoryUsage().getUsed() >> 20);
+        }
+    }
+
+    private void readPeakHeap() {
+        long peak = HEAP_POOLS.stream()
+            .mapToLong(pool -> pool.getPeakUsage().getUsed())
+            .sum();
+        peakHeapBytes.accumulateAndGet(peak, Math::max);
+    }
+
+    /**
+     * Measures the time spent by the observers of one mapper between its begin and finish observers. A mapper calls
+     * its observers one after the other on its own thread, so a timer is not shared.
+     */
+    private final class OutputTimer {
+
+        private long startNanos;
+
+        private final TimeSeriesMapperObserver begin = new TimeSeriesMapperObserver() {
+            @Override
+            public void versionEnd(int version) {
+                startNanos = System.nanoTime();
+            }
+
+            @Override
+            public void timeSeriesMappingEnd(int point, TimeSeriesIndex index, double balance) {
+                startNanos = System.nanoTime();
+            }
+
+            @Override
+            public void end() {
+                startNanos = System.nanoTime();
+            }
+        };
+
+        private final TimeSeriesMapperObserver finish = new TimeSeriesMapperObserver() {
+            @Override
+            public void versionEnd(int version) {
+                phaseNanos.addAndGet(Phase.OUTPUT.ordinal(), System.nanoTime() - startNanos);
+            }
+
+            @Override
+            public void timeSeriesMappingEnd(int point, TimeSeriesIndex index, double balance) {
+                phaseNanos.addAndGet(Phase.OUTPUT.ordinal(), System.nanoTime() - startNanos);
+                pointMapped();
+            }
+
+            @Override
+            public void end() {
+                phaseNanos.addAndGet(Phase.OUTPUT.ordinal(), System.nanoTime() - startNanos);
+            }
+        };
+    }
+}
@@ -0,0 +1,181 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.tutorials.downscaling;
+
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.iidm.network.Generator;
+import com.powsybl.iidm.network.HvdcLine;
+import com.powsybl.iidm.network.Identifiable;
+import com.powsybl.iidm.network.Network;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Rebuilds the network of a point from a file written by {@link NetworkPointDeltaWriter}. The file is read from its
+ * beginning up to the point, applying the deltas of the version, and the resulting values are set on the network.
+ */
+public final class NetworkPointDeltaReader {
+
+    private static final InjectionVariable[] VARIABLES = InjectionVariable.values();
+
+    /**
+     * Set the injection values of a point on the network, which must be the network the deltas were written from.
+     *
+     * @return false if the file has no such point
+     */
+    public static boolean read(Network network, Path file, int version, int point) throws IOException {
+        try (DataInputStream is = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file), 64 * 1024)))) {
+            if (is.readInt() != NetworkPointDeltaWriter.MAGIC || is.readInt() != NetworkPointDeltaWriter.FORMAT_VERSION) {
+                throw new PowsyblException("Not a network point delta file, or unsupported version");
+            }
+            String networkId = is.readUTF();
+            if (!networkId.equals(network.getId())) {
+                throw new PowsyblException("The deltas of '" + file + "' are the ones of network '" + networkId + "', not '" + network.getId() + "'");
+            }
+            String[][] ids = new String[VARIABLES.length][];
+            double[][] baseValues = new double[VARIABLES.length][];
+            for (int v = 0; v < VARIABLES.length; v++) {
+                int count = is.readInt();
+                ids[v] = new String[count];
+                baseValues[v] = new double[count];
+                for (int i = 0; i < count; i++) {
+                    ids[v][i] = is.readUTF();
+                    baseValues[v][i] = is.readDouble();
+                }
+            }
+
+            double[][] values = null;
+            int currentVersion = 0;
+            int pointVersion;
+            while ((pointVersion = is.readInt()) != NetworkPointDeltaWriter.END_OF_POINTS) {
+                int pointIndex = is.readInt();
+                if (values == null || pointVersion != currentVersion) {
+                    // The deltas of the first point of a version are relative to the values before the mapping
+                    values = copy(baseValues);
+                    currentVersion = pointVersion;
+                }
+                readDeltas(is, values);
+                if (pointVersion == version && pointIndex == point) {
+                    apply(network, ids, values);
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static double[][] copy(double[][] values) {
+        double[][] copy = new double[values.length][];
+        for (int v = 0; v < values.length; v++) {
+            copy[v] = values[v].clone();
+        }
+        return copy;
+    }
+
+    private static void readDeltas(DataInputStream is, double[][] values) throws IOException {
+        for (double[] variableValues : values) {
+            int changedCount = readVarInt(is);
+            int[] indexes = new int[changedCount];
+            int index = 0;
+            for (int i = 0; i < changedCount; i++) {
+                index += readVarInt(is);
+                indexes[i] = index;
+            }
+            for (int i = 0; i < changedCount; i++) {
+                variableValues[indexes[i]] = is.readDouble();
+            }
+        }
+    }
+
+    private static void apply(Network network, String[][] ids, double[][] values) {
+        for (InjectionVariable variable : VARIABLES) {
+            int v = variable.ordinal();
+            for (int i = 0; i < ids[v].length; i++) {
+                Identifiable<?> equipment = variable.getEquipment(network, ids[v][i]);
+                if (equipment == null) {
+                    throw new PowsyblException("Equipment '" + ids[v][i] + "' not found");
+                }
+                switch (variable) {
+                    case GENERATOR_MIN_P -> setActivePowerLimits((Generator) equipment, values[v][i],
+                                                                 values[InjectionVariable.GENERATOR_MAX_P.ordinal()][i]);
+                    case GENERATOR_TARGET_V -> setVoltageRegulation((Generator) equipment, values[v][i],
+                                                                     values[InjectionVariable.GENERATOR_VOLTAGE_REGULATOR_ON.ordinal()][i] != 0);
+                    case HVDC_ACTIVE_POWER_SETPOINT -> setActivePower((HvdcLine) equipment, values[v][i],
+                                                                      values[InjectionVariable.HVDC_MAX_P.ordinal()][i]);
+                    case GENERATOR_MAX_P, GENERATOR_VOLTAGE_REGULATOR_ON, HVDC_MAX_P -> {
+                        // Set with the other value of the pair
+                    }
+                    default -> variable.setValue(equipment, values[v][i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * The limits are set in the order that keeps the minimum lower than the maximum.
+     */
+    private static void setActivePowerLimits(Generator generator, double minP, double maxP) {
+        if (minP > generator.getMaxP()) {
+            generator.setMaxP(maxP);
+            generator.setMinP(minP);
+        } else {
+            generator.setMinP(minP);
+            generator.setMaxP(maxP);
+        }
+    }
+
+    /**
+     * The regulation is switched off before, and switched on after, setting the target voltage, which is only
+     * required to be valid when the regulation is on.
+     */
+    private static void setVoltageRegulation(Generator generator, double targetV, boolean voltageRegulatorOn) {
+        if (voltageRegulatorOn) {
+            generator.setTargetV(targetV);
+            generator.setVoltageRegulatorOn(true);
+        } else {
+            generator.setVoltageRegulatorOn(false);
+            generator.setTargetV(targetV);
+        }
+    }
+
+    /**
+     * The setpoint and the maximum are set in the order that keeps the setpoint lower than the maximum.
+     */
+    private static void setActivePower(HvdcLine hvdcLine, double activePowerSetpoint, double maxP) {
+        if (activePowerSetpoint > hvdcLine.getMaxP()) {
+            hvdcLine.setMaxP(maxP);
+            hvdcLine.setActivePowerSetpoint(activePowerSetpoint);
+        } else {
+            hvdcLine.setActivePowerSetpoint(activePowerSetpoint);
+            hvdcLine.setMaxP(maxP);
+        }
+    }
+
+    private static int readVarInt(InputStream is) throws IOException {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = is.read();
+            if (b < 0) {
+                throw new PowsyblException("Unexpected end of the network point delta file");
+            }
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private NetworkPointDeltaReader() {
+    }
+}
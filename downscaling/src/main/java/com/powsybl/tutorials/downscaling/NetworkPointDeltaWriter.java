@@ -0,0 +1,255 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.tutorials.downscaling;
+
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.iidm.network.Identifiable;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.metrix.commons.observer.TimeSeriesMapperObserver;
+import com.powsybl.timeseries.TimeSeriesIndex;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the mapped network of each point as a delta, instead of a full network file per point like
+ * {@code NetworkPointWriter}: only the values of {@link InjectionVariable} that changed since the previous point of
+ * the version are written, in a single gzipped file. {@link NetworkPointDeltaReader} rebuilds the network of any point.
+ * <p>
+ * The points are encoded on the mapping thread, and written to the file by a dedicated thread. The queue between
+ * them is bounded, so the mapping waits when the writer falls behind. The writer must be closed: if the mapping
+ * fails before {@link #end()}, closing it stops the writing thread and deletes the incomplete file.
+ * <p>
+ * Format, in big-endian order:
+ * <pre>
+ * header: int magic, int format version, UTF network id,
+ *         for each injection variable: int count, count times (UTF id, double value before the mapping)
+ * for each point: int version, int point,
+ *                 for each injection variable: varint changed count, varint index deltas, double[changed count] values
+ * end: int -1
+ * </pre>
+ */
+public class NetworkPointDeltaWriter implements TimeSeriesMapperObserver, Closeable {
+
+    static final int MAGIC = 0x4E504454; // "NPDT"
+
+    static final int FORMAT_VERSION = 2;
+
+    static final int END_OF_POINTS = -1;
+
+    private static final int QUEUE_CAPACITY = 256;
+
+    private static final byte[] END = new byte[0];
+
+    private final List<InjectionVariable> variables = List.of(InjectionVariable.values());
+
+    private final Network network;
+
+    private final Path file;
+
+    private final Identifiable<?>[][] equipments;
+
+    private final double[][] baseValues;
+
+    private final double[][] previousValues;
+
+    private final BlockingQueue<byte[]> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+    private Thread writerThread;
+
+    private volatile Throwable writerError;
+
+    private boolean ended;
+
+    private int version;
+
+    public NetworkPointDeltaWriter(Network network, Path file) {
+        this.network = Objects.requireNonNull(network);
+        this.file = Objects.requireNonNull(file);
+        equipments = new Identifiable<?>[variables.size()][];
+        baseValues = new double[variables.size()][];
+        previousValues = new double[variables.size()][];
+        for (InjectionVariable variable : variables) {
+            int v = variable.ordinal();
+            equipments[v] = variable.getEquipments(network);
+            baseValues[v] = getValues(variable);
+        }
+    }
+
+    @Override
+    public void start() {
+        writerThread = new Thread(this::write, "network-point-delta-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        put(encodeHeader());
+    }
+
+    @Override
+    public void versionStart(int version) {
+        this.version = version;
+        for (int v = 0; v < baseValues.length; v++) {
+            previousValues[v] = baseValues[v].clone();
+        }
+    }
+
+    @Override
+    public void timeSeriesMappingEnd(int point, TimeSeriesIndex index, double balance) {
+        put(encodePoint(point));
+    }
+
+    @Override
+    public void end() {
+        put(END);
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PowsyblException("Interrupted while waiting for the delta writer", e);
+        }
+        ended = true;
+        checkWriterError();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writerThread == null || ended) {
+            return;
+        }
+        // The mapping stopped before its end: the writing thread closes the file when interrupted
+        writerThread.interrupt();
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PowsyblException("Interrupted while waiting for the delta writer", e);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private void put(byte[] bytes) {
+        checkWriterError();
+        try {
+            queue.put(bytes);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PowsyblException("Interrupted while waiting for the delta writer", e);
+        }
+    }
+
+    private void checkWriterError() {
+        if (writerError != null) {
+            throw new PowsyblException("Failed to write network point deltas to '" + file + "'", writerError);
+        }
+    }
+
+    private void write() {
+        try (DataOutputStream os = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(file), 64 * 1024)))) {
+            while (true) {
+                byte[] bytes = queue.take();
+                if (bytes == END) {
+                    os.writeInt(END_OF_POINTS);
+                    break;
+                }
+                os.write(bytes);
+            }
+        } catch (Throwable t) {
+            writerError = t;
+            if (t instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            // Unblock the mapping thread if it waits for room in the queue
+            queue.clear();
+        }
+    }
+
+    private byte[] encodeHeader() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream os = new DataOutputStream(bytes)) {
+            os.writeInt(MAGIC);
+            os.writeInt(FORMAT_VERSION);
+            os.writeUTF(network.getId());
+            for (int v = 0; v < equipments.length; v++) {
+                os.writeInt(equipments[v].length);
+                for (int i = 0; i < equipments[v].length; i++) {
+                    os.writeUTF(equipments[v][i].getId());
+                    os.writeDouble(baseValues[v][i]);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private byte[] encodePoint(int point) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream os = new DataOutputStream(bytes)) {
+            os.writeInt(version);
+            os.writeInt(point);
+            for (InjectionVariable variable : variables) {
+                int v = variable.ordinal();
+                double[] values = getValues(variable);
+                double[] previous = previousValues[v];
+                int changedCount = 0;
+                for (int i = 0; i < values.length; i++) {
+                    if (Double.compare(values[i], previous[i]) != 0) {
+                        changedCount++;
+                    }
+                }
+                writeVarInt(os, changedCount);
+                // Columnar: the indexes first, then the values
+                int lastIndex = 0;
+                for (int i = 0; i < values.length; i++) {
+                    if (Double.compare(values[i], previous[i]) != 0) {
+                        writeVarInt(os, i - lastIndex);
+                        lastIndex = i;
+                    }
+                }
+                for (int i = 0; i < values.length; i++) {
+                    if (Double.compare(values[i], previous[i]) != 0) {
+                        os.writeDouble(values[i]);
+                    }
+                }
+                previousValues[v] = values;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private double[] getValues(InjectionVariable variable) {
+        Identifiable<?>[] variableEquipments = equipments[variable.ordinal()];
+        double[] values = new double[variableEquipments.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = variable.getValue(variableEquipments[i]);
+        }
+        return values;
+    }
+
+    private static void writeVarInt(OutputStream os, int value) throws IOException {
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            os.write((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        os.write(remaining);
+    }
+}
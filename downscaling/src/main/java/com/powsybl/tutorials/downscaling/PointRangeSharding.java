@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.tutorials.downscaling;
+
+import com.google.common.collect.Range;
+import com.powsybl.commons.PowsyblException;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * Splits a point range into shards mapped independently, and merges the CSV files written by the independent mappings.
+ */
+final class PointRangeSharding {
+
+    /**
+     * Split the range into at most {@code shardCount} contiguous ranges of almost the same size, in point order.
+     */
+    static List<Range<Integer>> split(Range<Integer> pointRange, int shardCount) {
+        int first = pointRange.lowerEndpoint();
+        int pointCount = pointRange.upperEndpoint() - first + 1;
+        int count = Math.min(shardCount, pointCount);
+        List<Range<Integer>> shards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int shardFirst = first + (int) ((long) pointCount * i / count);
+            int shardLast = first + (int) ((long) pointCount * (i + 1) / count) - 1;
+            shards.add(Range.closed(shardFirst, shardLast));
+        }
+        return shards;
+    }
+
+    /**
+     * Merge the files of the mapping directories, given in version and point order, into the output directory, and delete
+     * the mapping directories. The files are CSV files with one header line: the header is written once, followed by
+     * the rows of each directory containing the file.
+     */
+    static void mergeOutputs(List<Path> mappingDirs, Path outputDir) throws IOException {
+        Set<Path> fileNames = new TreeSet<>();
+        for (Path mappingDir : mappingDirs) {
+            try (Stream<Path> files = Files.list(mappingDir)) {
+                files.filter(Files::isRegularFile).map(Path::getFileName).forEach(fileNames::add);
+            }
+        }
+        for (Path fileName : fileNames) {
+            List<Path> parts = mappingDirs.stream()
+                                        .map(dir -> dir.resolve(fileName))
+                                        .filter(Files::exists)
+                                        .toList();
+            mergeCsv(parts, outputDir.resolve(fileName));
+        }
+        for (Path mappingDir : mappingDirs) {
+            try (Stream<Path> paths = Files.walk(mappingDir)) {
+                for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    private static void mergeCsv(List<Path> parts, Path output) throws IOException {
+        String header = null;
+        try (BufferedWriter writer = Files.newBufferedWriter(output)) {
+            for (Path part : parts) {
+                try (BufferedReader reader = Files.newBufferedReader(part)) {
+                    String partHeader = reader.readLine();
+                    if (partHeader == null) {
+                        continue;
+                    }
+                    if (header == null) {
+                        header = partHeader;
+                        writer.write(header);
+                        writer.newLine();
+                    } else if (!Objects.equals(header, partHeader)) {
+                        throw new PowsyblException("Cannot merge '" + part + "': its header differs from the one of the previous parts");
+                    }
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        writer.write(line);
+                        writer.newLine();
+                    }
+                }
+            }
+        }
+    }
+
+    private PointRangeSharding() {
+    }
+}
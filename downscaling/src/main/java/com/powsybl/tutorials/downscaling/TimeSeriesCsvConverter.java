@@ -0,0 +1,248 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.tutorials.downscaling;
+
+import com.powsybl.commons.PowsyblException;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Converts a time series CSV file, as read by {@code InMemoryTimeSeriesStore.importTimeSeries}, to the columnar
+ * binary file read by {@link MappedTimeSeriesStore}. The CSV file is separated by {@code ;}, its first column is
+ * the time and its second column, if named {@code Version}, the version of the row. All the versions must have
+ * the same times.
+ * <p>
+ * The rows are first written as they are read to a temporary file, and then transposed through a memory-mapped
+ * window, by blocks of columns of at most {@value #BLOCK_SIZE} bytes, so that the whole file never needs to fit in
+ * memory and each pass over the rows writes as many columns as possible.
+ * <p>
+ * Binary format, in big-endian order:
+ * <pre>
+ * int magic, int format version, int point count, int version count, int column count, long data offset
+ * int[version count] versions
+ * long[point count] times, in milliseconds since the epoch
+ * column count times: int length, UTF-8 bytes of the column name
+ * for each version, for each column: double[point count] values
+ * </pre>
+ */
+public final class TimeSeriesCsvConverter {
+
+    static final int MAGIC = 0x54534D53; // "TSMS"
+
+    static final int FORMAT_VERSION = 1;
+
+    static final int FIXED_HEADER_SIZE = 5 * Integer.BYTES + Long.BYTES;
+
+    private static final String SEPARATOR = ";";
+
+    private static final long WINDOW_SIZE = 256L * 1024 * 1024;
+
+    private static final long BLOCK_SIZE = 64L * 1024 * 1024;
+
+    public static void convert(BufferedReader reader, Path output) throws IOException {
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            throw new PowsyblException("Empty time series CSV file");
+        }
+        String[] header = headerLine.split(SEPARATOR, -1);
+        if (!"Time".equalsIgnoreCase(header[0])) {
+            throw new PowsyblException("The first column of a time series CSV file must be the time");
+        }
+        boolean versioned = header.length > 1 && "Version".equalsIgnoreCase(header[1]);
+        List<String> names = new ArrayList<>();
+        List<Integer> fieldIndexes = new ArrayList<>();
+        for (int i = versioned ? 2 : 1; i < header.length; i++) {
+            // Columns without name are ignored
+            if (!header[i].isEmpty()) {
+                names.add(header[i]);
+                fieldIndexes.add(i);
+            }
+        }
+
+        Path absoluteOutput = output.toAbsolutePath();
+        Path rowsFile = Files.createTempFile(absoluteOutput.getParent(), absoluteOutput.getFileName().toString(), ".rows");
+        Path tmpOutput = Files.createTempFile(absoluteOutput.getParent(), absoluteOutput.getFileName().toString(), ".tmp");
+        try {
+            Map<Integer, VersionRows> rowsByVersion = new TreeMap<>();
+            writeRows(reader, versioned, fieldIndexes, rowsFile, rowsByVersion);
+            VersionRows firstVersionRows = checkTimes(rowsByVersion);
+            writeColumns(rowsFile, names, firstVersionRows, rowsByVersion, tmpOutput);
+            Files.move(tmpOutput, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(rowsFile);
+            Files.deleteIfExists(tmpOutput);
+        }
+    }
+
+    private static void writeRows(BufferedReader reader, boolean versioned, List<Integer> fieldIndexes, Path rowsFile,
+                                  Map<Integer, VersionRows> rowsByVersion) throws IOException {
+        try (DataOutputStream rows = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(rowsFile)))) {
+            int row = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                String[] fields = line.split(SEPARATOR, -1);
+                int version = versioned ? Integer.parseInt(fields[1]) : 1;
+                rowsByVersion.computeIfAbsent(version, v -> new VersionRows()).add(parseTime(fields[0]).toEpochMilli(), row++);
+                for (int fieldIndex : fieldIndexes) {
+                    rows.writeDouble(fieldIndex < fields.length ? parseValue(fields[fieldIndex]) : Double.NaN);
+                }
+            }
+        }
+        if (rowsByVersion.isEmpty()) {
+            throw new PowsyblException("No time series points in the CSV file");
+        }
+    }
+
+    /**
+     * @return the rows of the first version, whose times are the times of all the versions
+     */
+    private static VersionRows checkTimes(Map<Integer, VersionRows> rowsByVersion) {
+        VersionRows first = rowsByVersion.values().iterator().next();
+        rowsByVersion.forEach((version, versionRows) -> {
+            if (!Arrays.equals(versionRows.times, 0, versionRows.size, first.times, 0, first.size)) {
+                throw new PowsyblException("The times of version " + version + " differ from the ones of the other versions");
+            }
+        });
+        return first;
+    }
+
+    private static void writeColumns(Path rowsFile, List<String> names, VersionRows firstVersionRows,
+                                     Map<Integer, VersionRows> rowsByVersion, Path output) throws IOException {
+        List<byte[]> encodedNames = names.stream().map(name -> name.getBytes(StandardCharsets.UTF_8)).toList();
+        int pointCount = firstVersionRows.size;
+        long dataOffset = FIXED_HEADER_SIZE
+                + (long) Integer.BYTES * rowsByVersion.size()
+                + (long) Long.BYTES * pointCount
+                + encodedNames.stream().mapToLong(name -> Integer.BYTES + name.length).sum();
+        int columnCount = names.size();
+        try (FileChannel rows = FileChannel.open(rowsFile, StandardOpenOption.READ);
+             FileChannel os = FileChannel.open(output, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(Math.toIntExact(dataOffset));
+            header.putInt(MAGIC)
+                  .putInt(FORMAT_VERSION)
+                  .putInt(pointCount)
+                  .putInt(rowsByVersion.size())
+                  .putInt(columnCount)
+                  .putLong(dataOffset);
+            for (int version : rowsByVersion.keySet()) {
+                header.putInt(version);
+            }
+            header.asLongBuffer().put(firstVersionRows.times, 0, pointCount);
+            header.position(header.position() + pointCount * Long.BYTES);
+            for (byte[] name : encodedNames) {
+                header.putInt(name.length).put(name);
+            }
+            writeFully(os, header.flip());
+
+            // The columns are transposed by blocks: a pass over the rows of a version fills a block of columns
+            int blockColumns = (int) Math.max(1, Math.min(columnCount, BLOCK_SIZE / ((long) pointCount * Double.BYTES)));
+            double[] rowValues = new double[blockColumns];
+            ByteBuffer block = ByteBuffer.allocate(Math.toIntExact((long) blockColumns * pointCount * Double.BYTES));
+            DoubleBuffer blockValues = block.asDoubleBuffer();
+            RowsWindow window = new RowsWindow(rows);
+            for (VersionRows versionRows : rowsByVersion.values()) {
+                for (int firstColumn = 0; firstColumn < columnCount; firstColumn += blockColumns) {
+                    int width = Math.min(blockColumns, columnCount - firstColumn);
+                    for (int point = 0; point < pointCount; point++) {
+                        long position = ((long) versionRows.rows[point] * columnCount + firstColumn) * Double.BYTES;
+                        window.getDoubles(position, rowValues, width);
+                        for (int c = 0; c < width; c++) {
+                            blockValues.put(c * pointCount + point, rowValues[c]);
+                        }
+                    }
+                    writeFully(os, block.clear().limit(width * pointCount * Double.BYTES));
+                }
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static Instant parseTime(String time) {
+        return time.endsWith("Z") ? Instant.parse(time) : ZonedDateTime.parse(time).toInstant();
+    }
+
+    private static double parseValue(String value) {
+        return value.isEmpty() ? Double.NaN : Double.parseDouble(value);
+    }
+
+    /**
+     * The times and the row indexes of the points of a version, in primitive arrays grown as the rows are read.
+     */
+    private static final class VersionRows {
+
+        private long[] times = new long[1024];
+
+        private int[] rows = new int[1024];
+
+        private int size;
+
+        private void add(long time, int row) {
+            if (size == times.length) {
+                times = Arrays.copyOf(times, size * 2);
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            times[size] = time;
+            rows[size] = row;
+            size++;
+        }
+    }
+
+    /**
+     * Memory-mapped window over the rows file, moved forward when values out of it are read. The rows of a version
+     * are read in increasing order, so a pass maps each part of the file once.
+     */
+    private static final class RowsWindow {
+
+        private final FileChannel channel;
+
+        private ByteBuffer buffer;
+
+        private long start;
+
+        private RowsWindow(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void getDoubles(long position, double[] values, int length) throws IOException {
+            long end = position + (long) length * Double.BYTES;
+            if (buffer == null || position < start || end > start + buffer.capacity()) {
+                start = position;
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW_SIZE, channel.size() - start));
+            }
+            buffer.slice((int) (position - start), length * Double.BYTES).asDoubleBuffer().get(values, 0, length);
+        }
+    }
+
+    private TimeSeriesCsvConverter() {
+    }
+}
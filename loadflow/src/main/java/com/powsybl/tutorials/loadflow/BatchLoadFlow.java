@@ -0,0 +1,200 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.tutorials.loadflow;
+
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.VariantManager;
+import com.powsybl.loadflow.LoadFlow;
+import com.powsybl.loadflow.LoadFlowParameters;
+import com.powsybl.loadflow.LoadFlowResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Runs the load flows of many cases of a network on a thread pool. A case is either a modification of the base
+ * variant, or an existing variant of the network.
+ * <p>
+ * Each worker owns a variant, created from the base variant before the load flows start. The state of the base
+ * variant is saved once in a {@link StateSnapshotStore}, and restored into the variant of the worker before each
+ * modification, so the load flow starts from the solution of the base case, with the
+ * {@link LoadFlowParameters.VoltageInitMode#PREVIOUS_VALUES} voltage initialization, instead of from uniform values.
+ * The base variant should then hold a load flow solution. No variant is cloned while load flows are running.
+ * The load flow of an existing variant is run in place, from the values of this variant, and a variant can only be
+ * the variant of one case.
+ * <p>
+ * The modifications are applied concurrently, each one on the working variant of its thread: they must only change
+ * the state that the snapshot restores, that is the terminal connections, the switch positions and the tap
+ * positions.
+ *
+ * @author agent <agent at local>
+ */
+public final class BatchLoadFlow {
+
+    private static final String WORKER_VARIANT_PREFIX = "batchLoadflowVariant_";
+
+    /**
+     * A case of the batch: a modification of the base variant, or an existing variant.
+     */
+    public record Case(String id, Consumer<Network> modification, String variantId) {
+
+        public Case {
+            Objects.requireNonNull(id);
+            if ((modification == null) == (variantId == null)) {
+                throw new IllegalArgumentException("A case is either a modification or a variant");
+            }
+        }
+
+        public static Case ofModification(String id, Consumer<Network> modification) {
+            return new Case(id, Objects.requireNonNull(modification), null);
+        }
+
+        public static Case ofVariant(String variantId) {
+            return new Case(variantId, null, Objects.requireNonNull(variantId));
+        }
+    }
+
+    /**
+     * The result of a case: the status and the iteration count of the main connected component, or the error.
+     */
+    public record CaseResult(String caseId, String status, int iterationCount, long durationMillis) {
+    }
+
+    private final int parallelism;
+
+    private final LoadFlowParameters parameters;
+
+    /**
+     * @param parameters the load flow parameters of the cases, their voltage initialization mode is ignored
+     */
+    public BatchLoadFlow(int parallelism, LoadFlowParameters parameters) {
+        if (parallelism < 1) {
+            throw new PowsyblException("Parallelism must be at least 1: " + parallelism);
+        }
+        this.parallelism = parallelism;
+        this.parameters = parameters.copy().setVoltageInitMode(LoadFlowParameters.VoltageInitMode.PREVIOUS_VALUES);
+    }
+
+    /**
+     * Run the load flows of the cases, and wait for all of them.
+     *
+     * @return the results, in the order of the cases
+     */
+    public List<CaseResult> run(Network network, String baseVariantId, List<Case> cases) {
+        checkVariantCases(cases);
+        VariantManager variantManager = network.getVariantManager();
+        String workingVariantId = variantManager.getWorkingVariantId();
+        boolean multiThreadAccess = variantManager.isVariantMultiThreadAccessAllowed();
+        int workers = (int) Math.min(parallelism, cases.stream().filter(c -> c.modification() != null).count());
+        BlockingQueue<String> workerVariants = new ArrayBlockingQueue<>(Math.max(workers, 1));
+        // All the variants are created, and the base state saved, before any load flow runs
+        for (int i = 0; i < workers; i++) {
+            String workerVariant = WORKER_VARIANT_PREFIX + i;
+            variantManager.cloneVariant(baseVariantId, workerVariant, true);
+            workerVariants.add(workerVariant);
+        }
+        variantManager.setWorkingVariant(baseVariantId);
+        try (StateSnapshotStore baseState = StateSnapshotStore.allocate(network, 1)) {
+            int baseSlot = baseState.capture();
+            // The working variant is then set per thread
+            variantManager.allowVariantMultiThreadAccess(true);
+            try (ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, cases.size())))) {
+                List<CompletableFuture<CaseResult>> runs = new ArrayList<>(cases.size());
+                for (Case c : cases) {
+                    runs.add(CompletableFuture.supplyAsync(() -> runCase(network, baseState, baseSlot, c, workerVariants), executor));
+                }
+                return runs.stream().map(CompletableFuture::join).toList();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            variantManager.allowVariantMultiThreadAccess(multiThreadAccess);
+            variantManager.setWorkingVariant(workingVariantId);
+            for (int i = 0; i < workers; i++) {
+                variantManager.removeVariant(WORKER_VARIANT_PREFIX + i);
+            }
+        }
+    }
+
+    /**
+     * The load flows of the variant cases run concurrently, in place: two cases on the same variant would overwrite
+     * each other's results.
+     */
+    private static void checkVariantCases(List<Case> cases) {
+        Set<String> variantIds = new HashSet<>();
+        for (Case c : cases) {
+            if (c.variantId() != null) {
+                if (c.variantId().startsWith(WORKER_VARIANT_PREFIX)) {
+                    throw new PowsyblException("Variant '" + c.variantId() + "' is reserved to the batch workers");
+                }
+                if (!variantIds.add(c.variantId())) {
+                    throw new PowsyblException("Variant '" + c.variantId() + "' is the variant of several cases");
+                }
+            }
+        }
+    }
+
+    private CaseResult runCase(Network network, StateSnapshotStore baseState, int baseSlot, Case c, BlockingQueue<String> workerVariants) {
+        long start = System.currentTimeMillis();
+        try {
+            LoadFlowResult result;
+            if (c.variantId() != null) {
+                network.getVariantManager().setWorkingVariant(c.variantId());
+                result = LoadFlow.run(network, parameters);
+            } else {
+                String workerVariant = workerVariants.take();
+                try {
+                    network.getVariantManager().setWorkingVariant(workerVariant);
+                    baseState.restore(baseSlot);
+                    c.modification().accept(network);
+                    result = LoadFlow.run(network, parameters);
+                } finally {
+                    workerVariants.add(workerVariant);
+                }
+            }
+            return toCaseResult(c.id(), result, System.currentTimeMillis() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PowsyblException("Interrupted while waiting for a variant", e);
+        } catch (RuntimeException e) {
+            return new CaseResult(c.id(), "ERROR: " + e.getMessage(), 0, System.currentTimeMillis() - start);
+        }
+    }
+
+    private static CaseResult toCaseResult(String caseId, LoadFlowResult result, long durationMillis) {
+        return result.getComponentResults().stream()
+            .filter(cr -> cr.getConnectedComponentNum() == 0)
+            .findFirst()
+            .map(cr -> new CaseResult(caseId, cr.getStatus().name(), cr.getIterationCount(), durationMillis))
+            .orElseGet(() -> new CaseResult(caseId, result.isOk() ? "OK" : "FAILED", 0, durationMillis));
+    }
+
+    /**
+     * Format the results as a table, one line per case.
+     */
+    public static String formatTable(List<CaseResult> results) {
+        int idWidth = Math.max("Case".length(), results.stream().mapToInt(r -> r.caseId().length()).max().orElse(0));
+        String format = "%-" + idWidth + "s  %-16s  %10s  %8s%n";
+        StringBuilder table = new StringBuilder(String.format(format, "Case", "Status", "Iterations", "Time(ms)"));
+        for (CaseResult r : results) {
+            table.append(String.format(format, r.caseId(), r.status(), r.iterationCount(), r.durationMillis()));
+        }
+        return table.toString();
+    }
+}
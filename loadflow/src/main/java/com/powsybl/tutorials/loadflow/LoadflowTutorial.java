@@ -15,6 +15,8 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
 
 /**
  * @author Anne Tilloy <anne.tilloy at rte-france.com>
@@ -116,29 +118,61 @@ public final class LoadflowTutorial {
         for (VoltageLevel voltageLevel : network.getVoltageLevels()) {
             voltageLevel.visitEquipments(visitor);
         }
+
+        // When many cases are computed, for instance the loss of each line, the load flows can be run
+        // as a batch, on a thread pool. Each case starts from the solution of the base case, so we first
+        // compute the base case again, with the line "NHV1_NHV2_1" connected.
+        final String baseCaseVariantId = "baseCaseLoadflowVariant";
+        network.getVariantManager().cloneVariant(variantId, baseCaseVariantId);
+        network.getVariantManager().setWorkingVariant(baseCaseVariantId);
+        network.getLine("NHV1_NHV2_1").getTerminal1().connect();
+        network.getLine("NHV1_NHV2_1").getTerminal2().connect();
+        LoadFlow.run(network, loadflowParams);
+        final List<BatchLoadFlow.Case> cases = network.getLineStream()
+                .map(line -> BatchLoadFlow.Case.ofModification(line.getId(), n -> {
+                    n.getLine(line.getId()).getTerminal1().disconnect();
+                    n.getLine(line.getId()).getTerminal2().disconnect();
+                }))
+                .toList();
+        final List<BatchLoadFlow.CaseResult> results = new BatchLoadFlow(Runtime.getRuntime().availableProcessors(), loadflowParams)
+                .run(network, baseCaseVariantId, cases);
+        LOGGER.info("N-1 load flows:{}{}", System.lineSeparator(), BatchLoadFlow.formatTable(results));
+
+        // The cases can also be run one after the other on a single variant: the state of the base case
+        // is saved outside of the heap, and restored in bulk after each case, instead of cloning a variant per case.
+        final LoadFlowParameters warmStartParams = loadflowParams.copy()
+                .setVoltageInitMode(LoadFlowParameters.VoltageInitMode.PREVIOUS_VALUES);
+        try (StateSnapshotStore snapshots = StateSnapshotStore.allocate(network, 1)) {
+            final int baseCase = snapshots.capture();
+            for (Line line : network.getLines()) {
+                line.getTerminal1().disconnect();
+                line.getTerminal2().disconnect();
+                LoadFlow.run(network, warmStartParams);
+                LOGGER.info("Loss of line {}:", line.getId());
+                printLines(network);
+                snapshots.restore(baseCase);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     /**
      * Display loadflow results: for each bus of provided network, show angle and tension difference
-     * between loadflow result and initial state
+     * between loadflow result and initial state, then the largest branch flow differences.
+     * The state of each variant is read once, so the working variant is only switched twice.
      *
      * @param network   a network
      * @param variantId variant of the network in which loadflow was calculated
      */
     private static void displayLoadflowResults(final Network network, final String variantId) {
-        double angle;
-        double v;
-        double oldAngle;
-        double oldV;
-        for (Bus bus : network.getBusView().getBuses()) {
-            network.getVariantManager().setWorkingVariant(VariantManagerConstants.INITIAL_VARIANT_ID);
-            oldAngle = bus.getAngle();
-            oldV = bus.getV();
-            network.getVariantManager().setWorkingVariant(variantId);
-            angle = bus.getAngle();
-            v = bus.getV();
-            LOGGER.info("Angle difference  : {}", angle - oldAngle);
-            LOGGER.info("Tension difference: {}", v - oldV);
+        final VariantDiff diff = VariantDiff.compare(network, VariantManagerConstants.INITIAL_VARIANT_ID, variantId);
+        for (int i = 0; i < diff.size(VariantDiff.Quantity.BUS_V); i++) {
+            LOGGER.info("Angle difference  : {}", diff.getDeviation(VariantDiff.Quantity.BUS_ANGLE, i).delta());
+            LOGGER.info("Tension difference: {}", diff.getDeviation(VariantDiff.Quantity.BUS_V, i).delta());
+        }
+        for (VariantDiff.Deviation deviation : diff.getTopDeviations(VariantDiff.Quantity.BRANCH_P1, 3)) {
+            LOGGER.info("Active power difference on {}: {} MW", deviation.id(), deviation.delta());
         }
     }
 
@@ -0,0 +1,278 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.tutorials.loadflow;
+
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.iidm.network.Bus;
+import com.powsybl.iidm.network.Connectable;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.PhaseTapChanger;
+import com.powsybl.iidm.network.RatioTapChanger;
+import com.powsybl.iidm.network.Switch;
+import com.powsybl.iidm.network.Terminal;
+import com.powsybl.iidm.network.ThreeWindingsTransformer;
+import com.powsybl.iidm.network.TwoWindingsTransformer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Off-heap store of the state of a network: the bus voltages and angles, the terminal flows and connections, the tap
+ * positions and the switch positions. A snapshot of the working variant is captured into a slot of the store, and
+ * restored in bulk into the working variant, so many cases can be run one after the other on a single variant
+ * instead of on as many variants. The store is either a direct buffer, or a memory-mapped file.
+ * <p>
+ * The equipments are listed when the store is created: the equipments created afterwards are not captured, and the
+ * ones removed must not be. The buses are the ones of the bus breaker view, found by id, so a bus that does not exist
+ * when a snapshot is restored is skipped. The snapshots are captured by a single thread, but once captured, they
+ * can be restored concurrently into different variants, when the variant multi-thread access is allowed.
+ *
+ * @author agent <agent at local>
+ */
+public final class StateSnapshotStore implements Closeable {
+
+    private final Network network;
+
+    private final FileChannel channel;
+
+    private final ByteBuffer buffer;
+
+    private final int capacity;
+
+    private final List<String> busIds;
+
+    private final List<Terminal> terminals;
+
+    private final List<RatioTapChanger> ratioTapChangers = new ArrayList<>();
+
+    private final List<PhaseTapChanger> phaseTapChangers = new ArrayList<>();
+
+    private final List<Switch> switches;
+
+    private final int slotSize;
+
+    private final int bitsOffset;
+
+    private final int tapsOffset;
+
+    private final double[] doubles;
+
+    private final long[] bits;
+
+    private final int[] taps;
+
+    private int size;
+
+    private StateSnapshotStore(Network network, int capacity, Path file) throws IOException {
+        this.network = Objects.requireNonNull(network);
+        if (capacity < 1) {
+            throw new PowsyblException("Capacity must be at least 1: " + capacity);
+        }
+        this.capacity = capacity;
+        busIds = network.getBusBreakerView().getBusStream().map(Bus::getId).toList();
+        terminals = network.getConnectableStream()
+                           .flatMap(c -> ((Connectable<?>) c).getTerminals().stream())
+                           .map(Terminal.class::cast)
+                           .toList();
+        for (TwoWindingsTransformer twt : network.getTwoWindingsTransformers()) {
+            twt.getOptionalRatioTapChanger().ifPresent(ratioTapChangers::add);
+            twt.getOptionalPhaseTapChanger().ifPresent(phaseTapChangers::add);
+        }
+        for (ThreeWindingsTransformer twt : network.getThreeWindingsTransformers()) {
+            for (ThreeWindingsTransformer.Leg leg : twt.getLegs()) {
+                leg.getOptionalRatioTapChanger().ifPresent(ratioTapChangers::add);
+                leg.getOptionalPhaseTapChanger().ifPresent(phaseTapChangers::add);
+            }
+        }
+        switches = network.getSwitchStream().toList();
+
+        // Slot layout: bus v and angle, terminal p and q, then the switch and terminal connection bits, then the taps
+        doubles = new double[2 * busIds.size() + 2 * terminals.size()];
+        bits = new long[(switches.size() + terminals.size() + Long.SIZE - 1) / Long.SIZE];
+        taps = new int[ratioTapChangers.size() + phaseTapChangers.size()];
+        bitsOffset = doubles.length * Double.BYTES;
+        tapsOffset = bitsOffset + bits.length * Long.BYTES;
+        slotSize = (tapsOffset + taps.length * Integer.BYTES + Long.BYTES - 1) & -Long.BYTES;
+        long storeSize = (long) slotSize * capacity;
+        if (storeSize > Integer.MAX_VALUE) {
+            throw new PowsyblException("A store of " + capacity + " snapshots of " + slotSize + " bytes is too large");
+        }
+        if (file != null) {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                                       StandardOpenOption.READ, StandardOpenOption.WRITE);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, storeSize);
+        } else {
+            channel = null;
+            buffer = ByteBuffer.allocateDirect((int) storeSize);
+        }
+    }
+
+    /**
+     * A store in a direct buffer, outside of the heap.
+     */
+    public static StateSnapshotStore allocate(Network network, int capacity) {
+        try {
+            return new StateSnapshotStore(network, capacity, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * A store in a memory-mapped file, which is overwritten. The snapshots are then paged out by the system when
+     * memory is needed.
+     */
+    public static StateSnapshotStore map(Network network, int capacity, Path file) throws IOException {
+        return new StateSnapshotStore(network, capacity, Objects.requireNonNull(file));
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getSnapshotSize() {
+        return slotSize;
+    }
+
+    /**
+     * Capture the state of the working variant into the next free slot.
+     *
+     * @return the slot of the snapshot
+     */
+    public int capture() {
+        if (size == capacity) {
+            throw new PowsyblException("The store is full: " + capacity + " snapshots");
+        }
+        write(size);
+        return size++;
+    }
+
+    /**
+     * Capture the state of the working variant into a slot, replacing its snapshot.
+     */
+    public void capture(int slot) {
+        checkSlot(slot, size);
+        write(slot);
+    }
+
+    private void write(int slot) {
+        int k = 0;
+        for (String busId : busIds) {
+            Bus bus = network.getBusBreakerView().getBus(busId);
+            doubles[k++] = bus != null ? bus.getV() : Double.NaN;
+            doubles[k++] = bus != null ? bus.getAngle() : Double.NaN;
+        }
+        for (Terminal terminal : terminals) {
+            doubles[k++] = terminal.getP();
+            doubles[k++] = terminal.getQ();
+        }
+        Arrays.fill(bits, 0);
+        for (int i = 0; i < switches.size(); i++) {
+            if (switches.get(i).isOpen()) {
+                bits[i / Long.SIZE] |= 1L << i;
+            }
+        }
+        for (int i = 0; i < terminals.size(); i++) {
+            int bit = switches.size() + i;
+            if (terminals.get(i).isConnected()) {
+                bits[bit / Long.SIZE] |= 1L << bit;
+            }
+        }
+        int t = 0;
+        for (RatioTapChanger rtc : ratioTapChangers) {
+            taps[t++] = rtc.getTapPosition();
+        }
+        for (PhaseTapChanger ptc : phaseTapChangers) {
+            taps[t++] = ptc.getTapPosition();
+        }
+        int offset = slot * slotSize;
+        buffer.slice(offset, bitsOffset).asDoubleBuffer().put(doubles);
+        buffer.slice(offset + bitsOffset, tapsOffset - bitsOffset).asLongBuffer().put(bits);
+        buffer.slice(offset + tapsOffset, taps.length * Integer.BYTES).asIntBuffer().put(taps);
+    }
+
+    /**
+     * Restore a snapshot into the working variant. The topology is restored first, then the taps, the bus voltages
+     * and angles and the terminal flows.
+     */
+    public void restore(int slot) {
+        checkSlot(slot, size);
+        // Not the capture arrays, so that snapshots can be restored concurrently
+        double[] doubles = new double[this.doubles.length];
+        long[] bits = new long[this.bits.length];
+        int[] taps = new int[this.taps.length];
+        int offset = slot * slotSize;
+        buffer.slice(offset, bitsOffset).asDoubleBuffer().get(doubles);
+        buffer.slice(offset + bitsOffset, tapsOffset - bitsOffset).asLongBuffer().get(bits);
+        buffer.slice(offset + tapsOffset, taps.length * Integer.BYTES).asIntBuffer().get(taps);
+
+        for (int i = 0; i < switches.size(); i++) {
+            Switch sw = switches.get(i);
+            boolean open = (bits[i / Long.SIZE] & (1L << i)) != 0;
+            if (sw.isOpen() != open) {
+                sw.setOpen(open);
+            }
+        }
+        // In node breaker topology, the connections already follow the switches
+        for (int i = 0; i < terminals.size(); i++) {
+            int bit = switches.size() + i;
+            Terminal terminal = terminals.get(i);
+            boolean connected = (bits[bit / Long.SIZE] & (1L << bit)) != 0;
+            if (terminal.isConnected() != connected) {
+                if (connected) {
+                    terminal.connect();
+                } else {
+                    terminal.disconnect();
+                }
+            }
+        }
+        int t = 0;
+        for (RatioTapChanger rtc : ratioTapChangers) {
+            rtc.setTapPosition(taps[t++]);
+        }
+        for (PhaseTapChanger ptc : phaseTapChangers) {
+            ptc.setTapPosition(taps[t++]);
+        }
+        int k = 0;
+        for (String busId : busIds) {
+            Bus bus = network.getBusBreakerView().getBus(busId);
+            if (bus != null) {
+                bus.setV(doubles[k]).setAngle(doubles[k + 1]);
+            }
+            k += 2;
+        }
+        for (Terminal terminal : terminals) {
+            terminal.setP(doubles[k++]).setQ(doubles[k++]);
+        }
+    }
+
+    private static void checkSlot(int slot, int limit) {
+        if (slot < 0 || slot >= limit) {
+            throw new PowsyblException("No snapshot slot " + slot);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,234 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.tutorials.loadflow;
+
+import com.powsybl.commons.PowsyblException;
+import com.powsybl.iidm.network.Branch;
+import com.powsybl.iidm.network.Bus;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.VariantManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+/**
+ * Differences of the bus voltages and angles and of the branch flows between two variants of a network.
+ * <p>
+ * The state of each variant is first copied into arrays by a {@link Snapshot}, in a single pass over the network, and
+ * the differences are then computed on these arrays. A snapshot only sets the working variant once: when the variant
+ * multi-thread access is allowed, the working variant is the one of the current thread, so other threads can work on
+ * other variants at the same time.
+ *
+ * @author agent <agent at local>
+ */
+public final class VariantDiff {
+
+    public enum Quantity {
+        BUS_V,
+        BUS_ANGLE,
+        BRANCH_P1,
+        BRANCH_Q1,
+        BRANCH_P2,
+        BRANCH_Q2;
+
+        private boolean isBusQuantity() {
+            return this == BUS_V || this == BUS_ANGLE;
+        }
+    }
+
+    public record Deviation(Quantity quantity, String id, double value1, double value2) {
+
+        public double delta() {
+            return value2 - value1;
+        }
+    }
+
+    /**
+     * The bus voltages and angles, in the bus view, and the branch flows of a variant.
+     */
+    public static final class Snapshot {
+
+        private final String variantId;
+
+        private final String[] busIds;
+
+        private final String[] branchIds;
+
+        private final double[][] values = new double[Quantity.values().length][];
+
+        private Snapshot(String variantId, String[] busIds, String[] branchIds) {
+            this.variantId = variantId;
+            this.busIds = busIds;
+            this.branchIds = branchIds;
+        }
+
+        public static Snapshot capture(Network network, String variantId) {
+            VariantManager variantManager = network.getVariantManager();
+            String previousVariantId = getWorkingVariantId(variantManager);
+            variantManager.setWorkingVariant(variantId);
+            try {
+                List<Bus> buses = network.getBusView().getBusStream().toList();
+                List<Branch> branches = network.getBranchStream().toList();
+                Snapshot snapshot = new Snapshot(variantId,
+                                                 buses.stream().map(Bus::getId).toArray(String[]::new),
+                                                 branches.stream().map(Branch::getId).toArray(String[]::new));
+                double[] v = new double[buses.size()];
+                double[] angle = new double[buses.size()];
+                for (int i = 0; i < buses.size(); i++) {
+                    Bus bus = buses.get(i);
+                    v[i] = bus.getV();
+                    angle[i] = bus.getAngle();
+                }
+                double[] p1 = new double[branches.size()];
+                double[] q1 = new double[branches.size()];
+                double[] p2 = new double[branches.size()];
+                double[] q2 = new double[branches.size()];
+                for (int i = 0; i < branches.size(); i++) {
+                    Branch<?> branch = branches.get(i);
+                    p1[i] = branch.getTerminal1().getP();
+                    q1[i] = branch.getTerminal1().getQ();
+                    p2[i] = branch.getTerminal2().getP();
+                    q2[i] = branch.getTerminal2().getQ();
+                }
+                snapshot.values[Quantity.BUS_V.ordinal()] = v;
+                snapshot.values[Quantity.BUS_ANGLE.ordinal()] = angle;
+                snapshot.values[Quantity.BRANCH_P1.ordinal()] = p1;
+                snapshot.values[Quantity.BRANCH_Q1.ordinal()] = q1;
+                snapshot.values[Quantity.BRANCH_P2.ordinal()] = p2;
+                snapshot.values[Quantity.BRANCH_Q2.ordinal()] = q2;
+                return snapshot;
+            } finally {
+                if (previousVariantId != null) {
+                    variantManager.setWorkingVariant(previousVariantId);
+                }
+            }
+        }
+
+        /**
+         * @return the working variant, or null if the current thread has none yet
+         */
+        private static String getWorkingVariantId(VariantManager variantManager) {
+            try {
+                return variantManager.getWorkingVariantId();
+            } catch (PowsyblException e) {
+                return null;
+            }
+        }
+
+        public String getVariantId() {
+            return variantId;
+        }
+
+        private String[] getIds(Quantity quantity) {
+            return quantity.isBusQuantity() ? busIds : branchIds;
+        }
+    }
+
+    private final String[][] ids = new String[Quantity.values().length][];
+
+    private final double[][] values1 = new double[Quantity.values().length][];
+
+    private final double[][] values2 = new double[Quantity.values().length][];
+
+    private final double[][] deltas = new double[Quantity.values().length][];
+
+    private VariantDiff(Snapshot snapshot1, Snapshot snapshot2) {
+        for (Quantity quantity : Quantity.values()) {
+            int q = quantity.ordinal();
+            String[] ids1 = snapshot1.getIds(quantity);
+            String[] ids2 = snapshot2.getIds(quantity);
+            if (Arrays.equals(ids1, ids2)) {
+                ids[q] = ids1;
+                values1[q] = snapshot1.values[q];
+                values2[q] = snapshot2.values[q];
+            } else {
+                // The buses of the bus view differ when the topology differs: only the common ones are compared
+                align(quantity, snapshot1, snapshot2);
+            }
+            double[] v1 = values1[q];
+            double[] v2 = values2[q];
+            double[] delta = new double[v1.length];
+            for (int i = 0; i < delta.length; i++) {
+                delta[i] = v2[i] - v1[i];
+            }
+            deltas[q] = delta;
+        }
+    }
+
+    private void align(Quantity quantity, Snapshot snapshot1, Snapshot snapshot2) {
+        int q = quantity.ordinal();
+        String[] ids2 = snapshot2.getIds(quantity);
+        Map<String, Integer> indexes2 = new HashMap<>();
+        for (int i = 0; i < ids2.length; i++) {
+            indexes2.put(ids2[i], i);
+        }
+        String[] ids1 = snapshot1.getIds(quantity);
+        List<String> commonIds = new ArrayList<>();
+        double[] v1 = new double[ids1.length];
+        double[] v2 = new double[ids1.length];
+        for (int i = 0; i < ids1.length; i++) {
+            Integer i2 = indexes2.get(ids1[i]);
+            if (i2 != null) {
+                v1[commonIds.size()] = snapshot1.values[q][i];
+                v2[commonIds.size()] = snapshot2.values[q][i2];
+                commonIds.add(ids1[i]);
+            }
+        }
+        ids[q] = commonIds.toArray(String[]::new);
+        values1[q] = Arrays.copyOf(v1, commonIds.size());
+        values2[q] = Arrays.copyOf(v2, commonIds.size());
+    }
+
+    public static VariantDiff compare(Snapshot snapshot1, Snapshot snapshot2) {
+        return new VariantDiff(Objects.requireNonNull(snapshot1), Objects.requireNonNull(snapshot2));
+    }
+
+    public static VariantDiff compare(Network network, String variantId1, String variantId2) {
+        return compare(Snapshot.capture(network, variantId1), Snapshot.capture(network, variantId2));
+    }
+
+    public int size(Quantity quantity) {
+        return ids[quantity.ordinal()].length;
+    }
+
+    public Deviation getDeviation(Quantity quantity, int index) {
+        int q = quantity.ordinal();
+        return new Deviation(quantity, ids[q][index], values1[q][index], values2[q][index]);
+    }
+
+    /**
+     * The deviations with the largest absolute delta, largest first. The NaN values, of the disconnected equipments,
+     * are skipped.
+     */
+    public List<Deviation> getTopDeviations(Quantity quantity, int count) {
+        double[] delta = deltas[quantity.ordinal()];
+        Comparator<Integer> byAbsoluteDelta = Comparator.comparingDouble(i -> Math.abs(delta[i]));
+        PriorityQueue<Integer> top = new PriorityQueue<>(byAbsoluteDelta);
+        for (int i = 0; i < delta.length; i++) {
+            if (Double.isNaN(delta[i])) {
+                continue;
+            }
+            if (top.size() < count) {
+                top.add(i);
+            } else if (count > 0 && Math.abs(delta[i]) > Math.abs(delta[top.peek()])) {
+                top.poll();
+                top.add(i);
+            }
+        }
+        List<Deviation> deviations = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            deviations.add(getDeviation(quantity, top.poll()));
+        }
+        return deviations.reversed();
+    }
+}